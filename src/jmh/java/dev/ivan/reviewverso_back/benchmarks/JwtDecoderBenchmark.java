@@ -0,0 +1,73 @@
+package dev.ivan.reviewverso_back.benchmarks;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import dev.ivan.reviewverso_back.config.SecurityConfiguration;
+import dev.ivan.reviewverso_back.security.CachingJwtDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación del mismo token HS512 con y sin CachingJwtDecoder, como en peticiones sucesivas de una sesión
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    private static final String KEY = "Ak3w8Qcjyqk+B8yDoRSPGPhzW6S4yc6IWvoT6IH+WDkfZxrUj1dvZFIrC0t/gG+bvjn6qoCLJ0A5CnzkC6rH4Q==";
+
+    private JwtDecoder nimbusDecoder;
+    private JwtDecoder cachingDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .subject("usuario")
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .claim("scope", "ROLE_USER")
+                .claim("userId", 1L)
+                .build();
+        token = new NimbusJwtEncoder(new ImmutableSecret<>(KEY.getBytes()))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims))
+                .getTokenValue();
+
+        nimbusDecoder = SecurityConfiguration.nimbusJwtDecoder(KEY);
+        cachingDecoder = new CachingJwtDecoder(SecurityConfiguration.nimbusJwtDecoder(KEY), 10_000);
+    }
+
+    @Benchmark
+    public Jwt uncachedDecode() {
+        return nimbusDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedDecode() {
+        return cachingDecoder.decode(token);
+    }
+}
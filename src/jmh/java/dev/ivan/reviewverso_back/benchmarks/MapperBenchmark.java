@@ -0,0 +1,134 @@
+package dev.ivan.reviewverso_back.benchmarks;
+
+import dev.ivan.reviewverso_back.lists.ListEntity;
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.dtos.ListMapper;
+import dev.ivan.reviewverso_back.lists.dtos.ListResponseDTO;
+import dev.ivan.reviewverso_back.profile.ProfileEntity;
+import dev.ivan.reviewverso_back.reviews.ReviewEntity;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewMapper;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.role.RoleEntity;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.dtos.UserMapper;
+import dev.ivan.reviewverso_back.user.dtos.UserResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mappers entidad → DTO sobre entidades sintéticas ya cargadas en memoria: mide solo el mapeo,
+ * sin Hibernate ni cargas lazy. itemCount (en ListState) es el tamaño de la lista mapeada por ListMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ReviewMapper reviewMapper;
+    private ListMapper listMapper;
+    private UserMapper userMapper;
+
+    private ReviewEntity review;
+    private UserEntity user;
+
+    @Setup
+    public void setUp() {
+        reviewMapper = new ReviewMapper();
+        ReflectionTestUtils.setField(reviewMapper, "baseUrl", "http://localhost:8080");
+        listMapper = new ListMapper();
+        userMapper = new UserMapper(null);
+
+        user = UserEntity.builder()
+                .idUser(1L)
+                .userName("usuario")
+                .email("usuario@example.com")
+                .password("hash")
+                .roles(Set.of(
+                        RoleEntity.builder().idRole(1L).name("ROLE_USER").build(),
+                        RoleEntity.builder().idRole(2L).name("ROLE_ADMIN").build()))
+                .build();
+        user.setProfile(ProfileEntity.builder().idProfile(1L).profileImage("avatar.png").user(user).build());
+
+        LocalDateTime now = LocalDateTime.now();
+        review = ReviewEntity.builder()
+                .idReview(1L)
+                .user(user)
+                .contentType(ContentType.MOVIE)
+                .contentId("MOV1")
+                .apiSource(ApiSource.TMDB)
+                .reviewTitle("Título de la reseña")
+                .reviewText("Texto de la reseña ".repeat(20))
+                .rating(8.5)
+                .createdAt(now)
+                .updatedAt(now)
+                .likeCount(12)
+                .build();
+    }
+
+    @Benchmark
+    public ReviewResponseDTO reviewEntityToReviewResponseDTO() {
+        return reviewMapper.reviewEntityToReviewResponseDTO(review);
+    }
+
+    @Benchmark
+    public ListResponseDTO listEntityToListResponseDto(ListState state) {
+        return listMapper.listEntityToListResponseDto(state.list);
+    }
+
+    @Benchmark
+    public UserResponseDTO userEntityToUserResponseDto() {
+        return userMapper.userEntityToUserResponseDto(user);
+    }
+
+    @State(Scope.Benchmark)
+    public static class ListState {
+
+        @Param({"10", "100"})
+        private int itemCount;
+
+        private ListEntity list;
+
+        @Setup
+        public void setUp() {
+            LocalDateTime now = LocalDateTime.now();
+            UserEntity owner = UserEntity.builder().idUser(1L).userName("usuario").build();
+            list = ListEntity.builder()
+                    .idList(1L)
+                    .user(owner)
+                    .title("Mi lista")
+                    .description("Descripción")
+                    .items(new ArrayList<>())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            for (int i = 0; i < itemCount; i++) {
+                list.addItem(ListItemEntity.builder()
+                        .idListItem((long) i + 1)
+                        .contentType(ContentType.MOVIE)
+                        .contentId("MOV" + i)
+                        .apiSource(ApiSource.TMDB)
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dev.ivan.reviewverso_back.benchmarks;
+
+import dev.ivan.reviewverso_back.security.ScopeAuthoritiesConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Authorities de un JWT: conversión por petición (la lambda anterior) frente a ScopeAuthoritiesConverter.
+ * Con -prof gc se ve la diferencia en bytes asignados por operación (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeAuthoritiesBenchmark {
+
+    private Jwt jwt;
+    private ScopeAuthoritiesConverter cachedConverter;
+
+    @Setup
+    public void setUp() {
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("usuario")
+                .claim("scope", "ROLE_USER ROLE_ADMIN")
+                .build();
+        cachedConverter = new ScopeAuthoritiesConverter();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> perRequestMapping() {
+        String scope = jwt.getClaimAsString("scope");
+        if (scope != null && !scope.isEmpty()) {
+            return Arrays.stream(scope.split(" "))
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                    .collect(Collectors.toList());
+        }
+        return List.of();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> cachedMapping() {
+        return cachedConverter.convert(jwt);
+    }
+}
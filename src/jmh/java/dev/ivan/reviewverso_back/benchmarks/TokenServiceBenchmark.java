@@ -0,0 +1,90 @@
+package dev.ivan.reviewverso_back.benchmarks;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import dev.ivan.reviewverso_back.auth.TokenRevocationStore;
+import dev.ivan.reviewverso_back.auth.TokenRevocationValidator;
+import dev.ivan.reviewverso_back.auth.TokenService;
+import dev.ivan.reviewverso_back.config.SecurityConfiguration;
+import dev.ivan.reviewverso_back.role.RoleEntity;
+import dev.ivan.reviewverso_back.security.CachingJwtDecoder;
+import dev.ivan.reviewverso_back.security.SecurityUser;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de los tokens: firma en el login (TokenService.generateToken) y, por petición, decodificación
+ * del bearer con revocación y conversión a Authentication, con y sin la caché del decoder
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String KEY = "Ak3w8Qcjyqk+B8yDoRSPGPhzW6S4yc6IWvoT6IH+WDkfZxrUj1dvZFIrC0t/gG+bvjn6qoCLJ0A5CnzkC6rH4Q==";
+
+    private TokenService tokenService;
+    private Authentication authentication;
+    private JwtDecoder uncachedDecoder;
+    private CachingJwtDecoder cachingDecoder;
+    private JwtAuthenticationConverter authenticationConverter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(KEY.getBytes()));
+        TokenRevocationStore revocationStore = new TokenRevocationStore(null, false);
+        TokenRevocationValidator revocationValidator = new TokenRevocationValidator(revocationStore);
+        uncachedDecoder = SecurityConfiguration.nimbusJwtDecoder(KEY);
+        cachingDecoder = new CachingJwtDecoder(SecurityConfiguration.nimbusJwtDecoder(KEY), 10_000, revocationValidator);
+        tokenService = new TokenService(encoder, cachingDecoder, uncachedDecoder, revocationStore, null, 60, 14);
+        authenticationConverter = new SecurityConfiguration().jwtAuthenticationConverter();
+
+        UserEntity user = UserEntity.builder()
+                .idUser(1L)
+                .userName("usuario")
+                .email("usuario@example.com")
+                .password("hash")
+                .roles(Set.of(RoleEntity.builder().idRole(1L).name("ROLE_USER").build()))
+                .build();
+        SecurityUser principal = new SecurityUser(user);
+        authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        token = tokenService.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(authentication);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken uncachedDecodeAndConvert() {
+        return authenticationConverter.convert(uncachedDecoder.decode(token));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cachedDecodeAndConvert() {
+        return authenticationConverter.convert(cachingDecoder.decode(token));
+    }
+}
@@ -1,49 +1,85 @@
 package dev.ivan.reviewverso_back.auth;
 
 import dev.ivan.reviewverso_back.auth.dto.AuthResponseDTO;
+import dev.ivan.reviewverso_back.security.AuthStageTimer;
+import dev.ivan.reviewverso_back.security.PasswordHashingService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(path = "${api-endpoint}/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final TokenService tokenService;
     private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthStageTimer authStageTimer;
 
+    /**
+     * La comprobación de la contraseña corre en el pool de hashing: el hilo de Tomcat queda libre mientras tanto
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
-        try {
-
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.identifier(), 
-                    loginRequest.password()
-                )
-            );
-
-     
-            String token = tokenService.generateToken(authentication);
-            
-            return ResponseEntity.ok(new AuthResponseDTO(token));
-
-        } catch (AuthenticationException e) {
-            return ResponseEntity.status(401).body("Credenciales inválidas: " + e.getMessage());
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
+        return passwordHashingService.submit(() -> {
+            try {
+
+                Authentication authentication = authStageTimer.record(AuthStageTimer.Stage.AUTHENTICATE,
+                    () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                            loginRequest.identifier(), 
+                            loginRequest.password()
+                        )
+                    ));
+
+                AuthResponseDTO tokens = authStageTimer.record(AuthStageTimer.Stage.SIGN,
+                    () -> new AuthResponseDTO(tokenService.generateToken(authentication),
+                            tokenService.generateRefreshToken(authentication)));
+                
+                return ResponseEntity.ok(tokens);
+
+            } catch (AuthenticationException e) {
+                return ResponseEntity.status(401).body("Credenciales inválidas: " + e.getMessage());
+            }
+        });
     }
 
+    /**
+     * Renueva la sesión con el refresh token; no vuelve a comprobar la contraseña
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@RequestBody RefreshRequest refreshRequest) {
+        return ResponseEntity.ok(tokenService.refresh(refreshRequest.refreshToken()));
+    }
+
+    /**
+     * Revoca el access token de la cabecera Authorization y, si llega, el refresh token del cuerpo
+     */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-  
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest logoutRequest) {
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            tokenService.revoke(authorization.substring(BEARER_PREFIX.length()));
+        }
+        if (logoutRequest != null && logoutRequest.refreshToken() != null) {
+            tokenService.revoke(logoutRequest.refreshToken());
+        }
         return ResponseEntity.ok().body("Sesión cerrada con éxito");
     }
 
 
     public record LoginRequest(String identifier, String password) {}
-}
\ No newline at end of file
+
+    public record RefreshRequest(String refreshToken) {}
+}
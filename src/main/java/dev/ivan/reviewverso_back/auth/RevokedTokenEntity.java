@@ -0,0 +1,27 @@
+package dev.ivan.reviewverso_back.auth;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * jti revocado (logout o refresh token ya rotado). Solo hace falta guardarlo hasta que el token caduca
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedTokenEntity {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    // Segundos epoch del exp del token
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+}
@@ -0,0 +1,26 @@
+package dev.ivan.reviewverso_back.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    List<RevokedTokenEntity> findAllByExpiresAtGreaterThan(Long epochSecond);
+
+    // INSERT directo: save() con un id asignado haría merge (SELECT y UPDATE) y nunca chocaría con la clave
+    // primaria, que es lo que detecta que otra instancia ya revocó el jti
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at) VALUES (:jti, :expiresAt)", nativeQuery = true)
+    int insertRevoked(@Param("jti") String jti, @Param("expiresAt") Long expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedTokenEntity t WHERE t.expiresAt <= :epochSecond")
+    int deleteExpired(@Param("epochSecond") Long epochSecond);
+}
@@ -0,0 +1,119 @@
+package dev.ivan.reviewverso_back.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Denylist de jti revocados. En memoria se agrupan por la hora en la que caduca el token: la consulta
+ * va directa al cubo del exp del token y la limpieza tira cubos enteros. Con persistencia activada
+ * cada revocación se guarda también en revoked_tokens, que se recarga al arrancar; el insert en la
+ * tabla decide además qué instancia gana si dos intentan rotar el mismo refresh token a la vez.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private static final long BUCKET_SECONDS = 3600;
+
+    private final ConcurrentMap<Long, Set<String>> revokedByExpiryBucket = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean persist;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${security.jwt.revocation.persist:true}") boolean persist) {
+        this(revokedTokenRepository, persist, Clock.systemUTC());
+    }
+
+    TokenRevocationStore(RevokedTokenRepository revokedTokenRepository, boolean persist, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.persist = persist;
+        this.clock = clock;
+    }
+
+    /**
+     * Revoca un jti hasta expiresAt. Devuelve false si ya estaba revocado, aquí o en otra instancia.
+     * Con persistencia manda la tabla: el jti solo se marca en memoria cuando el insert ha ido bien
+     * o ha chocado con una revocación anterior, nunca si la escritura falla por otro motivo.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return false;
+        }
+        if (!persist) {
+            return revokedIn(expiresAt).add(jti);
+        }
+        if (isRevoked(jti, expiresAt)) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insertRevoked(jti, expiresAt.getEpochSecond());
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia (o esta antes de reiniciar) lo revocó antes
+            revokedIn(expiresAt).add(jti);
+            return false;
+        }
+        revokedIn(expiresAt).add(jti);
+        return true;
+    }
+
+    public boolean isRevoked(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        Set<String> bucket = revokedByExpiryBucket.get(bucket(expiresAt));
+        return bucket != null && bucket.contains(jti);
+    }
+
+    /**
+     * Carga las revocaciones vigentes guardadas en base de datos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersisted() {
+        if (!persist) {
+            return;
+        }
+        long now = clock.instant().getEpochSecond();
+        revokedTokenRepository.findAllByExpiresAtGreaterThan(now).forEach(token ->
+                revokedIn(Instant.ofEpochSecond(token.getExpiresAt())).add(token.getJti()));
+    }
+
+    /**
+     * Un cubo cuya hora ya pasó solo contiene tokens caducados, que el decoder rechaza de todos modos
+     */
+    @Scheduled(cron = "${security.jwt.revocation.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        long currentBucket = bucket(now);
+        revokedByExpiryBucket.keySet().removeIf(bucket -> bucket < currentBucket);
+        if (persist) {
+            int deleted = revokedTokenRepository.deleteExpired(now.getEpochSecond());
+            log.debug("Revocaciones caducadas eliminadas: {}", deleted);
+        }
+    }
+
+    int size() {
+        return revokedByExpiryBucket.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private Set<String> revokedIn(Instant expiresAt) {
+        return revokedByExpiryBucket.computeIfAbsent(bucket(expiresAt), key -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static long bucket(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / BUCKET_SECONDS;
+    }
+}
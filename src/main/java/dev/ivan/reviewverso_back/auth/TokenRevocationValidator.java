@@ -0,0 +1,35 @@
+package dev.ivan.reviewverso_back.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validación por petición del bearer token: rechaza refresh tokens y jti revocados.
+ * Es una consulta en memoria, así que se aplica incluso cuando el JWT sale de la caché del decoder
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationValidator implements OAuth2TokenValidator<Jwt> {
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        if (TokenService.REFRESH_TOKEN_TYPE.equals(jwt.getClaimAsString(TokenService.TOKEN_TYPE_CLAIM))) {
+            return failure("Un refresh token no sirve como access token");
+        }
+        if (tokenRevocationStore.isRevoked(jwt.getId(), jwt.getExpiresAt())) {
+            return failure("Token revocado");
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+
+    private static OAuth2TokenValidatorResult failure(String description) {
+        return OAuth2TokenValidatorResult.failure(new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, description, null));
+    }
+}
@@ -1,8 +1,18 @@
 package dev.ivan.reviewverso_back.auth;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import dev.ivan.reviewverso_back.auth.dto.AuthResponseDTO;
+import dev.ivan.reviewverso_back.auth.exceptions.InvalidRefreshTokenException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
@@ -14,16 +24,37 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 public class TokenService {
+
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
     
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
-
-    public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+    private final JwtDecoder uncachedJwtDecoder;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final UserDetailsService userDetailsService;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder,
+                        @Qualifier("uncachedJwtDecoder") JwtDecoder uncachedJwtDecoder,
+                        TokenRevocationStore tokenRevocationStore,
+                        UserDetailsService userDetailsService,
+                        @Value("${security.jwt.access-token-ttl-minutes:60}") long accessTokenTtlMinutes,
+                        @Value("${security.jwt.refresh-token-ttl-days:14}") long refreshTokenTtlDays) {
         this.jwtEncoder = jwtEncoder;
         this.jwtDecoder = jwtDecoder;
+        this.uncachedJwtDecoder = uncachedJwtDecoder;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.userDetailsService = userDetailsService;
+        this.accessTokenTtl = Duration.ofMinutes(accessTokenTtlMinutes);
+        this.refreshTokenTtl = Duration.ofDays(refreshTokenTtlDays);
     }
 
     public String generateToken(Authentication authentication) {
@@ -37,15 +68,15 @@ public class TokenService {
         Long userId = extractUserId(authentication);
         String email = extractEmail(authentication);
 
-        System.out.println("<-------------- roles: " + roles);
-        System.out.println("<-------------- userId: " + userId);
-        System.out.println("<-------------- email: " + email);
+        log.debug("Emitiendo access token para userId={} con roles [{}]", userId, roles);
 
         JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
                 .subject(authentication.getName())
-                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .expiresAt(now.plus(accessTokenTtl))
+                .id(UUID.randomUUID().toString())
+                .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE)
                 .claim("scope", roles);
         
 
@@ -62,6 +93,70 @@ public class TokenService {
         return this.jwtEncoder.encode(encoderParameters).getTokenValue();
     }
 
+    /**
+     * Refresh token de larga duración. Solo sirve para /auth/refresh: no lleva roles y el decoder
+     * del resource server lo rechaza como bearer
+     */
+    public String generateRefreshToken(Authentication authentication) {
+        Instant now = Instant.now();
+
+        JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .subject(authentication.getName())
+                .expiresAt(now.plus(refreshTokenTtl))
+                .id(UUID.randomUUID().toString())
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+
+        Long userId = extractUserId(authentication);
+        if (userId != null) {
+            claimsBuilder.claim("userId", userId);
+        }
+
+        var encoderParameters = JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claimsBuilder.build());
+        return this.jwtEncoder.encode(encoderParameters).getTokenValue();
+    }
+
+    /**
+     * Cambia un refresh token por un access token y un refresh token nuevos. El usado queda revocado
+     * (rotación), así que un segundo uso falla. Los roles se releen de base de datos, sin BCrypt
+     */
+    public AuthResponseDTO refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = uncachedJwtDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new InvalidRefreshTokenException("Refresh token inválido o caducado");
+        }
+        if (!REFRESH_TOKEN_TYPE.equals(jwt.getClaimAsString(TOKEN_TYPE_CLAIM))) {
+            throw new InvalidRefreshTokenException("El token no es un refresh token");
+        }
+        if (!tokenRevocationStore.revoke(jwt.getId(), jwt.getExpiresAt())) {
+            throw new InvalidRefreshTokenException("Refresh token ya utilizado o revocado");
+        }
+
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(jwt.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidRefreshTokenException("El usuario del refresh token ya no existe");
+        }
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        return new AuthResponseDTO(generateToken(authentication), generateRefreshToken(authentication));
+    }
+
+    /**
+     * Revoca un access o refresh token hasta su exp. Los tokens inválidos o ya caducados se ignoran
+     */
+    public boolean revoke(String token) {
+        try {
+            Jwt jwt = uncachedJwtDecoder.decode(token);
+            return tokenRevocationStore.revoke(jwt.getId(), jwt.getExpiresAt());
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
     /**
      * Recopila los roles del usuario autenticado
      */
@@ -1,5 +1,6 @@
 package dev.ivan.reviewverso_back.auth.dto;
 
 public record AuthResponseDTO(
-    String token
+    String token,
+    String refreshToken
 ) {}
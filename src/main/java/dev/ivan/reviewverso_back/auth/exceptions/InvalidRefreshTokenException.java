@@ -0,0 +1,7 @@
+package dev.ivan.reviewverso_back.auth.exceptions;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
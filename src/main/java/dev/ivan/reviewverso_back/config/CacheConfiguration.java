@@ -0,0 +1,41 @@
+package dev.ivan.reviewverso_back.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String CONTENT_STATS_CACHE = "contentStats";
+    public static final String UNKNOWN_LOGIN_CACHE = "unknownLoginIdentifiers";
+
+    // Cachés acotadas por tamaño y TTL. recordStats() alimenta las métricas cache.gets/cache.evictions de Actuator
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${reviews.stats.cache.maximum-size:10000}") long maximumSize,
+            @Value("${reviews.stats.cache.expire-after-write-minutes:10}") long expireAfterWriteMinutes,
+            @Value("${security.login.unknown-cache.maximum-size:10000}") long unknownLoginMaximumSize,
+            @Value("${security.login.unknown-cache.ttl-seconds:30}") long unknownLoginTtlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CONTENT_STATS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // Caché negativa del login: identificadores sin usuario, con TTL corto para frenar el credential stuffing
+        cacheManager.registerCustomCache(UNKNOWN_LOGIN_CACHE, Caffeine.newBuilder()
+                .maximumSize(unknownLoginMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(unknownLoginTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
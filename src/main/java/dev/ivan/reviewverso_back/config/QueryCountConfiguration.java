@@ -0,0 +1,35 @@
+package dev.ivan.reviewverso_back.config;
+
+import dev.ivan.reviewverso_back.globals.QueryCountFilter;
+import dev.ivan.reviewverso_back.globals.QueryCountInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryCountConfiguration {
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    // Hibernate usa esta instancia (no una creada por reflexión) para que el filtro lea el mismo contador
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(
+            QueryCountInspector queryCountInspector,
+            @Value("${sql.query-count.header-enabled:false}") boolean headerEnabled,
+            @Value("${sql.query-count.warn-threshold:20}") int warnThreshold,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new QueryCountFilter(queryCountInspector, headerEnabled, warnThreshold, meterRegistry.getIfAvailable());
+    }
+}
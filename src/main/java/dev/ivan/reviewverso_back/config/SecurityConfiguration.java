@@ -2,9 +2,17 @@ package dev.ivan.reviewverso_back.config;
 
 import java.util.Arrays;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import dev.ivan.reviewverso_back.auth.TokenRevocationValidator;
+import dev.ivan.reviewverso_back.security.CachingJwtDecoder;
+import dev.ivan.reviewverso_back.security.AuthStageTimer;
+import dev.ivan.reviewverso_back.security.PasswordHashingService;
+import dev.ivan.reviewverso_back.security.ScopeAuthoritiesConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -33,7 +41,7 @@ public class SecurityConfiguration {
     private String endpoint;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfiguration()))
                 .csrf(csfr -> csfr
@@ -43,9 +51,12 @@ public class SecurityConfiguration {
                         .frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, endpoint + "/register").permitAll()
                         .requestMatchers(HttpMethod.POST, endpoint + "/auth/token").permitAll()
                         .requestMatchers(HttpMethod.POST, endpoint + "/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, endpoint + "/auth/refresh").permitAll()
                         .requestMatchers(HttpMethod.POST, endpoint + "/auth/logout").permitAll()
                         
                         .requestMatchers(HttpMethod.GET, endpoint + "/users").hasRole("ADMIN")
@@ -58,6 +69,7 @@ public class SecurityConfiguration {
                 
                         .requestMatchers(HttpMethod.GET, endpoint + "/reviews").permitAll()
                         .requestMatchers(HttpMethod.GET, endpoint + "/reviews/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, endpoint + "/reviews/content/stats/batch").permitAll()
                         .requestMatchers(HttpMethod.POST, endpoint + "/reviews").hasAnyRole("ADMIN","USER")
                         .requestMatchers(HttpMethod.POST, endpoint + "/reviews/*/like").hasAnyRole("ADMIN","USER")
                         .requestMatchers(HttpMethod.DELETE, endpoint + "/reviews/*/like").hasAnyRole("ADMIN","USER")
@@ -67,14 +79,16 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.GET, endpoint + "/lists").permitAll()
                         .requestMatchers(HttpMethod.GET, endpoint + "/lists/**").permitAll()
                         .requestMatchers(HttpMethod.POST, endpoint + "/lists").hasAnyRole("ADMIN","USER")
+                        .requestMatchers(HttpMethod.POST, endpoint + "/lists/*/items").hasAnyRole("ADMIN","USER")
                         .requestMatchers(HttpMethod.PUT, endpoint + "/lists/**").hasAnyRole("ADMIN","USER")
+                        .requestMatchers(HttpMethod.PATCH, endpoint + "/lists/**").hasAnyRole("ADMIN","USER")
                         .requestMatchers(HttpMethod.DELETE, endpoint + "/lists/**").hasAnyRole("ADMIN","USER")
                         
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer(oauth -> oauth.jwt(jwt -> jwt
-                    .decoder(jwtDecoder())
+                    .decoder(jwtDecoder)
                     .jwtAuthenticationConverter(jwtAuthenticationConverter())
                 ))
                 .httpBasic(withDefaults());
@@ -89,8 +103,30 @@ public class SecurityConfiguration {
         return new NimbusJwtEncoder(new ImmutableSecret<>(key.getBytes()));
     }
 
+    /**
+     * Decoder HS512 envuelto en una caché de tokens ya verificados (ver CachingJwtDecoder).
+     * La revocación y el tipo de token se comprueban en cada petición
+     */
     @Bean
-    public JwtDecoder jwtDecoder() {
+    @Primary
+    public CachingJwtDecoder jwtDecoder(
+            @Value("${security.jwt.decode-cache.maximum-size:10000}") long maximumSize,
+            TokenRevocationValidator tokenRevocationValidator,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(nimbusJwtDecoder(key), maximumSize, tokenRevocationValidator);
+        meterRegistry.ifAvailable(decoder::bindTo);
+        return decoder;
+    }
+
+    /**
+     * Solo firma y exp, sin caché ni revocación: lo usa TokenService para refresh y logout
+     */
+    @Bean
+    public JwtDecoder uncachedJwtDecoder() {
+        return nimbusJwtDecoder(key);
+    }
+
+    public static JwtDecoder nimbusJwtDecoder(String key) {
         byte[] bytes = key.getBytes();
         SecretKeySpec secretKey = new SecretKeySpec(bytes, 0, bytes.length, "HmacSHA512");
         return NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS512).build();
@@ -102,9 +138,34 @@ public class SecurityConfiguration {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Encoder compartido por login y registro. Con security.password.strength > 0 se usa ese coste fijo;
+     * si no, se calibra al arrancar contra security.password.target-hash-millis
+     */
+    @Bean
+    public PasswordHashingService passwordEncoder(
+            @Value("${security.password.strength:0}") int strength,
+            @Value("${security.password.target-hash-millis:250}") long targetHashMillis,
+            @Value("${security.password.min-strength:10}") int minStrength,
+            @Value("${security.password.max-strength:14}") int maxStrength,
+            @Value("${security.password.hashing.threads:4}") int threads,
+            @Value("${security.password.hashing.queue-capacity:32}") int queueCapacity,
+            AuthStageTimer authStageTimer) {
+        PasswordHashingService service = strength > 0
+                ? new PasswordHashingService(strength, threads, queueCapacity)
+                : PasswordHashingService.calibrated(targetHashMillis, minStrength, maxStrength, threads, queueCapacity);
+        return service.timedBy(authStageTimer);
+    }
+
+    /**
+     * Timers por etapa del login. Con security.auth.timings.enabled=false no se mide nada
+     */
     @Bean
-    public org.springframework.security.crypto.password.PasswordEncoder passwordEncoder() {
-        return new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder();
+    public AuthStageTimer authStageTimer(
+            @Value("${security.auth.timings.enabled:true}") boolean enabled,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = enabled ? meterRegistry.getIfAvailable() : null;
+        return registry != null ? AuthStageTimer.bindTo(registry) : AuthStageTimer.noop();
     }
 
     /**
@@ -116,21 +177,7 @@ public class SecurityConfiguration {
             new org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter();
         
  
-        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
-            String scope = jwt.getClaimAsString("scope");
-            if (scope != null && !scope.isEmpty()) {
-                return java.util.Arrays.stream(scope.split(" "))
-                    .map(role -> {
-                        
-                        if (role.startsWith("ROLE_")) {
-                            return new org.springframework.security.core.authority.SimpleGrantedAuthority(role);
-                        }
-                        return new org.springframework.security.core.authority.SimpleGrantedAuthority(role);
-                    })
-                    .collect(java.util.stream.Collectors.toList());
-            }
-            return java.util.List.of();
-        });
+        converter.setJwtGrantedAuthoritiesConverter(new ScopeAuthoritiesConverter());
         
         return converter;
     }
@@ -140,7 +187,7 @@ public class SecurityConfiguration {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowCredentials(true);
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE"));
         configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With", "multipart/form-data"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,61 @@
+package dev.ivan.reviewverso_back.globals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Codifica y decodifica los cursores opacos usados en la paginación por keyset.
+ * El cliente solo ve una cadena Base64 URL-safe; el contenido (orden, clave, id)
+ * es un detalle interno que puede cambiar sin romper la API.
+ */
+public final class CursorCodec {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+        return parts;
+    }
+
+    /**
+     * Convierte una parte del cursor a su tipo, tratando cualquier fallo como cursor inválido
+     */
+    public static <T> T parse(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+
+    /**
+     * Valida el tamaño de página solicitado y lo limita a {@link #MAX_PAGE_SIZE}
+     */
+    public static int normalizeLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que 0");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,9 @@
+package dev.ivan.reviewverso_back.globals;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasNext
+) {}
@@ -3,15 +3,18 @@ package dev.ivan.reviewverso_back.globals;
 import java.time.LocalDateTime;
 
 import org.springframework.boot.autoconfigure.graphql.GraphQlProperties.Http;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import dev.ivan.reviewverso_back.auth.exceptions.InvalidRefreshTokenException;
 import dev.ivan.reviewverso_back.register.exceptions.*;
 import dev.ivan.reviewverso_back.user.exceptions.*;
 import dev.ivan.reviewverso_back.reviews.exceptions.*;
 import dev.ivan.reviewverso_back.lists.exceptions.*;
+import dev.ivan.reviewverso_back.security.exceptions.PasswordHashingBusyException;
 
 
 @RestControllerAdvice
@@ -57,11 +60,29 @@ public ResponseEntity<GlobalExceptionResponseDTO> handleUserAccessDenied(UserAcc
     return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
   }
 
+  @ExceptionHandler(ListItemNotFoundException.class)
+  public ResponseEntity<GlobalExceptionResponseDTO> handleListItemNotFound(ListItemNotFoundException ex) {
+    return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+  }
+
   @ExceptionHandler(ListAccessDeniedException.class)
   public ResponseEntity<GlobalExceptionResponseDTO> handleListAccessDenied(ListAccessDeniedException ex) {
     return buildResponse(HttpStatus.FORBIDDEN, ex.getMessage());
   }
 
+  @ExceptionHandler(InvalidRefreshTokenException.class)
+  public ResponseEntity<GlobalExceptionResponseDTO> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+    return buildResponse(HttpStatus.UNAUTHORIZED, ex.getMessage());
+  }
+
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  public ResponseEntity<GlobalExceptionResponseDTO> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+    ResponseEntity<GlobalExceptionResponseDTO> response = buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    return ResponseEntity.status(response.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response.getBody());
+  }
+
       private ResponseEntity<GlobalExceptionResponseDTO> buildResponse(HttpStatus status, String message) {
         GlobalExceptionResponseDTO error = new GlobalExceptionResponseDTO(
                 status.value(),
@@ -0,0 +1,114 @@
+package dev.ivan.reviewverso_back.globals;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Conjunto de longs primitivos con direccionamiento abierto. Evita el boxing de
+ * HashSet&lt;Long&gt; al comprobar ids dentro de bucles de mapeo (un contains por fila).
+ * No es thread-safe: está pensado para vivir lo que dura una petición. La única instancia
+ * compartida es el conjunto vacío de {@link #empty()}, que no admite añadir.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY_SLOT = 0L;
+    private static final LongHashSet EMPTY = new LongHashSet(0, true);
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+    private final boolean readOnly;
+
+    public LongHashSet(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    private LongHashSet(int expectedSize, boolean readOnly) {
+        this.slots = new long[tableSizeFor(expectedSize)];
+        this.readOnly = readOnly;
+    }
+
+    public static LongHashSet empty() {
+        return EMPTY;
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        for (Long value : values) {
+            if (value != null) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    public boolean add(long value) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("El conjunto vacío compartido no admite añadir");
+        }
+        if (value == EMPTY_SLOT) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY_SLOT) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY_SLOT) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY_SLOT) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = slots;
+        slots = new long[newCapacity];
+        size = containsZero ? 1 : 0;
+        Arrays.stream(old).filter(v -> v != EMPTY_SLOT).forEach(this::add);
+    }
+
+    // Capacidad potencia de dos con factor de carga máximo 0.5
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        return Math.max(capacity, 4);
+    }
+
+    // Mezcla los bits altos con los bajos: los ids secuenciales no deben caer en slots contiguos
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,127 @@
+package dev.ivan.reviewverso_back.globals;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Cuenta las sentencias SQL de cada petición con QueryCountInspector. Avisa en el log cuando una petición
+ * supera sql.query-count.warn-threshold (síntoma típico de N+1 en los mappers), publica el recuento como
+ * http.server.requests.sql.statements por endpoint y, si sql.query-count.header-enabled=true, lo devuelve
+ * en la cabecera X-Query-Count. La cabecera se escribe al empezar el cuerpo de la respuesta.
+ * Lo que se ejecute en otros hilos (login en el pool de hashing) no se cuenta.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+    public static final String METRIC_NAME = "http.server.requests.sql.statements";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final QueryCountInspector inspector;
+    private final boolean headerEnabled;
+    private final int warnThreshold;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(QueryCountInspector inspector, boolean headerEnabled, int warnThreshold,
+                            MeterRegistry meterRegistry) {
+        this.inspector = inspector;
+        this.headerEnabled = headerEnabled;
+        this.warnThreshold = warnThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        inspector.start();
+        HttpServletResponse target = headerEnabled ? new QueryCountHeaderResponse(response) : response;
+        int count;
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            count = inspector.stop();
+        }
+        if (headerEnabled && !response.isCommitted()) {
+            response.setHeader(HEADER, Integer.toString(count));
+        }
+        record(request, response, count);
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        if (count > warnThreshold) {
+            log.warn("{} {} ({}) ejecutó {} sentencias SQL, umbral {}", request.getMethod(), uri,
+                    request.getRequestURI(), count, warnThreshold);
+        }
+        if (meterRegistry != null) {
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("Sentencias SQL por petición")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("status", Integer.toString(response.getStatus()))
+                    .register(meterRegistry)
+                    .record(count);
+        }
+    }
+
+    /**
+     * Añade la cabecera justo antes de que empiece el cuerpo, cuando la respuesta aún admite cabeceras
+     */
+    private final class QueryCountHeaderResponse extends HttpServletResponseWrapper {
+
+        private QueryCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        private void writeHeader() {
+            int count = inspector.current();
+            if (count >= 0 && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(count));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package dev.ivan.reviewverso_back.globals;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector que cuenta las sentencias SQL que prepara Hibernate en el hilo actual.
+ * Solo cuenta entre start() y stop(); fuera de una petición (jobs, arranque) no hace nada.
+ * No modifica el SQL.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<int[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        counter.set(new int[1]);
+    }
+
+    /**
+     * Sentencias contadas desde start(), o -1 si no se está contando
+     */
+    public int current() {
+        int[] count = counter.get();
+        return count != null ? count[0] : -1;
+    }
+
+    public int stop() {
+        int count = current();
+        counter.remove();
+        return count;
+    }
+}
@@ -1,5 +1,10 @@
 package dev.ivan.reviewverso_back.lists;
 
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemMoveDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemResponseDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListRequestDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListResponseDTO;
 import dev.ivan.reviewverso_back.lists.service.ListService;
@@ -8,8 +13,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping(path = "${api-endpoint}/lists")
 @RequiredArgsConstructor
@@ -24,18 +27,38 @@ public class ListController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ListResponseDTO>> getAllLists() {
-        return ResponseEntity.ok(listService.getEntities());
+    public ResponseEntity<CursorPageDTO<ListResponseDTO>> getAllLists(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "" + ListService.DEFAULT_FEED_ITEMS) int itemsLimit) {
+        return ResponseEntity.ok(listService.getListsPage(cursor, limit, itemsLimit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ListResponseDTO> getListById(@PathVariable Long id) {
+    public ResponseEntity<ListResponseDTO> getListById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer itemsLimit) {
+        if (itemsLimit != null) {
+            return ResponseEntity.ok(listService.getSummary(id, itemsLimit));
+        }
         return ResponseEntity.ok(listService.getByID(id));
     }
 
+    @GetMapping("/{id}/items")
+    public ResponseEntity<CursorPageDTO<ListItemResponseDTO>> getListItems(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(listService.getItemsPage(id, cursor, limit));
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ListResponseDTO>> getListsByUser(@PathVariable Long userId) {
-        return ResponseEntity.ok(listService.getListsByUserId(userId));
+    public ResponseEntity<CursorPageDTO<ListResponseDTO>> getListsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "" + ListService.DEFAULT_FEED_ITEMS) int itemsLimit) {
+        return ResponseEntity.ok(listService.getListsByUserId(userId, cursor, limit, itemsLimit));
     }
 
     @PutMapping("/{id}")
@@ -50,4 +73,28 @@ public class ListController {
         listService.deleteEntity(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/items")
+    public ResponseEntity<ListItemResponseDTO> addItem(
+            @PathVariable Long id,
+            @RequestBody ListItemDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(listService.addItem(id, dto));
+    }
+
+    @DeleteMapping("/{id}/items/{itemId}")
+    public ResponseEntity<Void> removeItem(@PathVariable Long id, @PathVariable Long itemId) {
+        listService.removeItem(id, itemId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/{id}/items/{itemId}")
+    public ResponseEntity<ListItemResponseDTO> moveItem(
+            @PathVariable Long id,
+            @PathVariable Long itemId,
+            @RequestBody ListItemMoveDTO dto) {
+        if (dto.position() == null) {
+            throw new IllegalArgumentException("La posición es obligatoria");
+        }
+        return ResponseEntity.ok(listService.moveItem(id, itemId, dto.position()));
+    }
 }
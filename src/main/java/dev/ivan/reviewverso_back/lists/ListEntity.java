@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "lists")
+@Table(name = "lists", indexes = {
+    @Index(name = "idx_lists_created_at_id", columnList = "createdAt, id_list"),
+    @Index(name = "idx_lists_user_created_at_id", columnList = "user_id, createdAt, id_list")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +23,8 @@ import java.util.List;
 public class ListEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lists_seq")
+    @SequenceGenerator(name = "lists_seq", sequenceName = "lists_seq", allocationSize = 50)
     @Column(name = "id_list")
     private Long idList;
 
@@ -35,7 +39,7 @@ public class ListEntity {
     private String description;
 
     @OneToMany(mappedBy = "list", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("position ASC")
+    @OrderBy("position ASC, idListItem ASC")
     @Builder.Default
     private List<ListItemEntity> items = new ArrayList<>();
 
@@ -48,17 +52,15 @@ public class ListEntity {
     private LocalDateTime updatedAt;
 
     public void addItem(ListItemEntity item) {
+        int position = items.isEmpty() ? 0 : items.get(items.size() - 1).getPosition() + ListItemEntity.POSITION_GAP;
         items.add(item);
         item.setList(this);
-        item.setPosition(items.size() - 1);
+        item.setPosition(position);
     }
 
+    // Las posiciones son dispersas: quitar un elemento no obliga a renumerar los demás
     public void removeItem(ListItemEntity item) {
         items.remove(item);
         item.setList(null);
-  
-        for (int i = 0; i < items.size(); i++) {
-            items.get(i).setPosition(i);
-        }
     }
 }
@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "list_items")
+@Table(name = "list_items", indexes = {
+    @Index(name = "idx_list_items_list_position", columnList = "list_id, position, id_list_item")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +16,14 @@ import lombok.*;
 @Builder
 public class ListItemEntity {
 
+    // Separación entre posiciones consecutivas al numerar una lista: deja sitio para insertar entre dos
+    // elementos sin tocar los demás
+    public static final int POSITION_GAP = 1024;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia en bloques de 50 (una tabla en MySQL): con IDENTITY Hibernate no puede agrupar los INSERT
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "list_items_seq")
+    @SequenceGenerator(name = "list_items_seq", sequenceName = "list_items_seq", allocationSize = 50)
     @Column(name = "id_list_item")
     private Long idListItem;
 
@@ -34,6 +42,7 @@ public class ListItemEntity {
     @Column(nullable = false, length = 20)
     private ApiSource apiSource;
 
+    // Clave de orden dispersa dentro de la lista, no el índice: solo importa el orden relativo
     @Column(nullable = false)
     private Integer position;
 }
@@ -0,0 +1,62 @@
+package dev.ivan.reviewverso_back.lists;
+
+import dev.ivan.reviewverso_back.lists.dtos.ListItemBoundsDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ListItemRepository extends JpaRepository<ListItemEntity, Long> {
+
+    // Páginas de elementos por keyset sobre (position, id_list_item): con idx_list_items_list_position cada
+    // página es un rango del índice, no importa cuántos elementos tenga la lista
+    String ITEM_ROW_SELECT = """
+            SELECT new dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO(
+                i.list.idList, i.idListItem, i.contentType, i.contentId, i.apiSource, i.position)
+            FROM ListItemEntity i
+            """;
+
+    @Query(ITEM_ROW_SELECT + "WHERE i.list.idList = :listId ORDER BY i.position, i.idListItem")
+    List<ListItemRowDTO> findFirstItems(@Param("listId") Long listId, Limit limit);
+
+    @Query(ITEM_ROW_SELECT + """
+            WHERE i.list.idList = :listId
+              AND (i.position > :position OR (i.position = :position AND i.idListItem > :idListItem))
+            ORDER BY i.position, i.idListItem""")
+    List<ListItemRowDTO> findItemsAfter(@Param("listId") Long listId, @Param("position") Integer position,
+                                        @Param("idListItem") Long idListItem, Limit limit);
+
+    @Query("SELECT i FROM ListItemEntity i WHERE i.idListItem = :idListItem AND i.list.idList = :listId")
+    Optional<ListItemEntity> findInList(@Param("listId") Long listId, @Param("idListItem") Long idListItem);
+
+    @Query("""
+            SELECT new dev.ivan.reviewverso_back.lists.dtos.ListItemBoundsDTO(COUNT(i), MAX(i.position))
+            FROM ListItemEntity i WHERE i.list.idList = :listId""")
+    ListItemBoundsDTO findBounds(@Param("listId") Long listId);
+
+    // Posiciones de los vecinos de un hueco: la del índice offset y la siguiente, sin contar el elemento que se mueve
+    @Query(value = """
+            SELECT position FROM list_items
+            WHERE list_id = :listId AND id_list_item <> :idListItem
+            ORDER BY position, id_list_item
+            LIMIT 2 OFFSET :offset""", nativeQuery = true)
+    List<Integer> findNeighbourPositions(@Param("listId") Long listId, @Param("idListItem") Long idListItem,
+                                         @Param("offset") int offset);
+
+    @Query("SELECT i FROM ListItemEntity i WHERE i.list.idList = :listId ORDER BY i.position, i.idListItem")
+    List<ListItemEntity> findByListOrdered(@Param("listId") Long listId);
+
+    // Listas con dos elementos consecutivos a menos de minGap: ahí la siguiente inserción puede quedarse sin hueco
+    @Query(value = """
+            SELECT DISTINCT g.list_id FROM (
+                SELECT list_id, position - LAG(position) OVER (PARTITION BY list_id ORDER BY position) AS gap
+                FROM list_items) g
+            WHERE g.gap < :minGap""", nativeQuery = true)
+    List<Long> findCrowdedListIds(@Param("minGap") int minGap);
+}
@@ -1,18 +1,101 @@
 package dev.ivan.reviewverso_back.lists;
 
+import dev.ivan.reviewverso_back.lists.dtos.ListItemPreviewDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListRowDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ListRepository extends JpaRepository<ListEntity, Long> {
-    
-    @Query("SELECT l FROM ListEntity l WHERE l.user.idUser = :userId ORDER BY l.createdAt DESC")
-    List<ListEntity> findByUserId(@Param("userId") Long userId);
-    
-    @Query("SELECT l FROM ListEntity l JOIN FETCH l.items WHERE l.idList = :id")
-    ListEntity findByIdWithItems(@Param("id") Long id);
+
+    // Lectura en dos fases: primero las filas de las listas con su autor (un JOIN to-one, el LIMIT va a SQL)
+    // y después los elementos de todas ellas con findItemRows. Dos consultas por página sin importar su tamaño.
+    String LIST_ROW_SELECT = """
+            SELECT new dev.ivan.reviewverso_back.lists.dtos.ListRowDTO(
+                l.idList, u.idUser, u.userName, l.title, l.description, l.createdAt, l.updatedAt)
+            FROM ListEntity l JOIN l.user u
+            """;
+
+    @Query(LIST_ROW_SELECT + "WHERE l.idList = :idList")
+    Optional<ListRowDTO> findRowById(@Param("idList") Long idList);
+
+    // Dueño de la lista sin cargar la lista ni el usuario
+    @Query("SELECT l.user.idUser FROM ListEntity l WHERE l.idList = :idList")
+    Optional<Long> findOwnerId(@Param("idList") Long idList);
+
+    // Igual que findOwnerId pero bloqueando la fila de la lista hasta el commit. Las escrituras de elementos
+    // leen los vecinos después de esto, así que dos peticiones sobre la misma lista no calculan la misma posición
+    @Query(value = "SELECT l.user_id FROM lists l WHERE l.id_list = :idList FOR UPDATE", nativeQuery = true)
+    Optional<Long> findOwnerIdForUpdate(@Param("idList") Long idList);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ListEntity l WHERE l.idList = :idList")
+    Optional<ListEntity> findByIdForUpdate(@Param("idList") Long idList);
+
+    @Query(LIST_ROW_SELECT + "ORDER BY l.createdAt DESC, l.idList DESC")
+    List<ListRowDTO> findNewest(Limit limit);
+
+    @Query(LIST_ROW_SELECT + """
+            WHERE l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.idList < :idList)
+            ORDER BY l.createdAt DESC, l.idList DESC""")
+    List<ListRowDTO> findNewestAfter(@Param("createdAt") LocalDateTime createdAt, @Param("idList") Long idList, Limit limit);
+
+    @Query(LIST_ROW_SELECT + "WHERE u.idUser = :userId ORDER BY l.createdAt DESC, l.idList DESC")
+    List<ListRowDTO> findNewestByUser(@Param("userId") Long userId, Limit limit);
+
+    @Query(LIST_ROW_SELECT + """
+            WHERE u.idUser = :userId
+              AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.idList < :idList))
+            ORDER BY l.createdAt DESC, l.idList DESC""")
+    List<ListRowDTO> findNewestByUserAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("idList") Long idList, Limit limit);
+
+    @Query("""
+            SELECT new dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO(
+                i.list.idList, i.idListItem, i.contentType, i.contentId, i.apiSource, i.position)
+            FROM ListItemEntity i
+            WHERE i.list.idList IN :listIds
+            ORDER BY i.list.idList, i.position, i.idListItem""")
+    List<ListItemRowDTO> findItemRows(@Param("listIds") Collection<Long> listIds);
+
+    // Feeds: solo los primeros itemsLimit elementos de cada lista y, en cada fila, el total de su lista.
+    // Sigue siendo una consulta por página, y una lista enorme aporta como mucho itemsLimit filas
+    @Query(value = """
+            SELECT r.list_id, r.id_list_item, r.content_type, r.content_id, r.api_source, r.position, r.item_count
+            FROM (SELECT i.list_id, i.id_list_item, i.content_type, i.content_id, i.api_source, i.position,
+                         ROW_NUMBER() OVER (PARTITION BY i.list_id ORDER BY i.position, i.id_list_item) AS rn,
+                         COUNT(*) OVER (PARTITION BY i.list_id) AS item_count
+                  FROM list_items i
+                  WHERE i.list_id IN (:listIds)) r
+            WHERE r.rn <= :itemsLimit
+            ORDER BY r.list_id, r.position, r.id_list_item""", nativeQuery = true)
+    List<Object[]> findFirstItemColumns(@Param("listIds") Collection<Long> listIds,
+                                        @Param("itemsLimit") int itemsLimit);
+
+    default List<ListItemPreviewDTO> findFirstItemRows(Collection<Long> listIds, int itemsLimit) {
+        return findFirstItemColumns(listIds, itemsLimit).stream()
+                .map(columns -> new ListItemPreviewDTO(
+                        new ListItemRowDTO(
+                                ((Number) columns[0]).longValue(),
+                                ((Number) columns[1]).longValue(),
+                                ContentType.valueOf(String.valueOf(columns[2])),
+                                (String) columns[3],
+                                ApiSource.valueOf(String.valueOf(columns[4])),
+                                ((Number) columns[5]).intValue()),
+                        ((Number) columns[6]).longValue()))
+                .toList();
+    }
 }
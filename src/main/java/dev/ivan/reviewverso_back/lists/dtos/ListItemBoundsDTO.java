@@ -0,0 +1,10 @@
+package dev.ivan.reviewverso_back.lists.dtos;
+
+/**
+ * Número de elementos de una lista y su última posición (null si está vacía), leídos en una sola consulta
+ */
+public record ListItemBoundsDTO(
+        Long count,
+        Integer maxPosition
+) {
+}
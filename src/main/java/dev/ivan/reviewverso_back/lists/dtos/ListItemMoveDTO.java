@@ -0,0 +1,5 @@
+package dev.ivan.reviewverso_back.lists.dtos;
+
+public record ListItemMoveDTO(
+    Integer position
+) {}
@@ -0,0 +1,10 @@
+package dev.ivan.reviewverso_back.lists.dtos;
+
+/**
+ * Uno de los primeros elementos de una lista junto al total de elementos de esa lista, para los feeds
+ */
+public record ListItemPreviewDTO(
+        ListItemRowDTO item,
+        Long itemCount
+) {
+}
@@ -0,0 +1,18 @@
+package dev.ivan.reviewverso_back.lists.dtos;
+
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+/**
+ * Elemento de lista leído por proyección junto al id de su lista, para repartir en memoria
+ * los elementos de varias listas cargados en una sola consulta
+ */
+public record ListItemRowDTO(
+        Long listId,
+        Long idListItem,
+        ContentType contentType,
+        String contentId,
+        ApiSource apiSource,
+        Integer position
+) {
+}
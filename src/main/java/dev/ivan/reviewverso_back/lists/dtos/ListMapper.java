@@ -7,7 +7,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class ListMapper {
@@ -28,7 +27,7 @@ public class ListMapper {
                         .contentType(itemDto.contentType())
                         .contentId(itemDto.contentId())
                         .apiSource(itemDto.apiSource())
-                        .position(i)
+                        .position(i * ListItemEntity.POSITION_GAP)
                         .build();
                 list.getItems().add(item);
             }
@@ -37,10 +36,15 @@ public class ListMapper {
         return list;
     }
 
+    /**
+     * La position de cada elemento en la respuesta es su índice en la lista; la posición guardada es una
+     * clave de orden dispersa que no se expone
+     */
     public ListResponseDTO listEntityToListResponseDto(ListEntity list) {
-        List<ListItemResponseDTO> itemDtos = list.getItems().stream()
-                .map(this::listItemEntityToDto)
-                .collect(Collectors.toList());
+        List<ListItemResponseDTO> itemDtos = new ArrayList<>(list.getItems().size());
+        for (ListItemEntity item : list.getItems()) {
+            itemDtos.add(listItemEntityToDto(item, itemDtos.size()));
+        }
 
         return new ListResponseDTO(
                 list.getIdList(),
@@ -49,18 +53,58 @@ public class ListMapper {
                 list.getTitle(),
                 list.getDescription(),
                 itemDtos,
+                (long) itemDtos.size(),
                 list.getCreatedAt(),
                 list.getUpdatedAt()
         );
     }
 
-    private ListItemResponseDTO listItemEntityToDto(ListItemEntity item) {
+    /**
+     * Variante para las lecturas: parte de las proyecciones de la lista y de sus elementos, sin entidades
+     */
+    public ListResponseDTO listRowToListResponseDto(ListRowDTO row, List<ListItemRowDTO> items) {
+        return listRowToListResponseDto(row, items, items.size());
+    }
+
+    /**
+     * Modo resumen: items son solo los primeros elementos de la lista e itemCount el total
+     */
+    public ListResponseDTO listRowToListResponseDto(ListRowDTO row, List<ListItemRowDTO> items, long itemCount) {
+        List<ListItemResponseDTO> itemDtos = new ArrayList<>(items.size());
+        for (ListItemRowDTO item : items) {
+            itemDtos.add(listItemRowToDto(item, itemDtos.size()));
+        }
+
+        return new ListResponseDTO(
+                row.idList(),
+                row.userId(),
+                row.userName(),
+                row.title(),
+                row.description(),
+                itemDtos,
+                itemCount,
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
+    public ListItemResponseDTO listItemRowToDto(ListItemRowDTO item, int index) {
+        return new ListItemResponseDTO(
+                item.idListItem(),
+                item.contentType(),
+                item.contentId(),
+                item.apiSource(),
+                index
+        );
+    }
+
+    public ListItemResponseDTO listItemEntityToDto(ListItemEntity item, int index) {
         return new ListItemResponseDTO(
                 item.getIdListItem(),
                 item.getContentType(),
                 item.getContentId(),
                 item.getApiSource(),
-                item.getPosition()
+                index
         );
     }
 }
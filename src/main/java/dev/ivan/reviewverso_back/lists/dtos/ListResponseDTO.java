@@ -10,6 +10,7 @@ public record ListResponseDTO(
     String title,
     String description,
     List<ListItemResponseDTO> items,
+    Long itemCount,
     LocalDateTime createdAt,
     LocalDateTime updatedAt
 ) {}
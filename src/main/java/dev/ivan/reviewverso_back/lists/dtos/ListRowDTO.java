@@ -0,0 +1,18 @@
+package dev.ivan.reviewverso_back.lists.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de lectura de una lista con el id y nombre de su autor. Al no cargar UserEntity se evitan
+ * su perfil y sus roles, que Hibernate trae siempre junto al usuario.
+ */
+public record ListRowDTO(
+        Long idList,
+        Long userId,
+        String userName,
+        String title,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,7 @@
+package dev.ivan.reviewverso_back.lists.exceptions;
+
+public class ListItemNotFoundException extends RuntimeException {
+    public ListItemNotFoundException(String message) {
+        super(message);
+    }
+}
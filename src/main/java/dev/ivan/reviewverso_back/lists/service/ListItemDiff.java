@@ -0,0 +1,154 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import dev.ivan.reviewverso_back.lists.ListEntity;
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lleva los elementos guardados de una lista al orden pedido tocando solo lo que cambia. Cada elemento pedido
+ * reutiliza uno guardado con el mismo contenido (los repetidos se emparejan por orden de aparición); los que no
+ * existían se insertan y los que sobran se borran por orphanRemoval. De los reutilizados se queda quieta la
+ * subsecuencia creciente más larga de posiciones y solo los demás reciben una posición nueva entre sus vecinos,
+ * así que mover un elemento en una lista de 500 escribe una fila. Si entre dos vecinos no queda hueco se
+ * renumera la lista entera.
+ */
+final class ListItemDiff {
+
+    record Result(int inserted, int deleted, int moved) {
+    }
+
+    private record ItemKey(ContentType contentType, String contentId, ApiSource apiSource) {
+    }
+
+    private ListItemDiff() {
+    }
+
+    static Result apply(ListEntity list, List<ListItemDTO> requested) {
+        List<ListItemEntity> items = list.getItems();
+        Map<ItemKey, Deque<ListItemEntity>> stored = new HashMap<>();
+        for (ListItemEntity item : items) {
+            stored.computeIfAbsent(new ItemKey(item.getContentType(), item.getContentId(), item.getApiSource()),
+                    key -> new ArrayDeque<>()).add(item);
+        }
+
+        List<ListItemEntity> result = new ArrayList<>(requested.size());
+        int inserted = 0;
+        for (ListItemDTO dto : requested) {
+            Deque<ListItemEntity> candidates = stored.get(new ItemKey(dto.contentType(), dto.contentId(), dto.apiSource()));
+            ListItemEntity item = candidates == null ? null : candidates.pollFirst();
+            if (item == null) {
+                item = ListItemEntity.builder()
+                        .list(list)
+                        .contentType(dto.contentType())
+                        .contentId(dto.contentId())
+                        .apiSource(dto.apiSource())
+                        .build();
+                inserted++;
+            }
+            result.add(item);
+        }
+
+        int deleted = items.size() - (result.size() - inserted);
+        int moved = assignPositions(result);
+        // Los elementos reutilizados siguen en la colección, así que orphanRemoval solo borra los que sobran
+        items.clear();
+        items.addAll(result);
+        return new Result(inserted, deleted, moved);
+    }
+
+    /**
+     * Da posición a los elementos nuevos y a los que no forman parte de la subsecuencia que se queda quieta.
+     * Devuelve cuántos elementos ya guardados cambian de posición
+     */
+    private static int assignPositions(List<ListItemEntity> result) {
+        boolean[] anchored = longestIncreasingRun(result);
+        Integer[] before = new Integer[result.size()];
+        for (int i = 0; i < result.size(); i++) {
+            before[i] = result.get(i).getPosition();
+        }
+
+        int start = 0;
+        while (start < result.size()) {
+            if (anchored[start]) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < result.size() && !anchored[end]) {
+                end++;
+            }
+            Integer lower = start > 0 ? result.get(start - 1).getPosition() : null;
+            Integer upper = end < result.size() ? result.get(end).getPosition() : null;
+            int[] positions = ListItemPositions.spread(lower, upper, end - start);
+            if (positions == null) {
+                renumber(result);
+                break;
+            }
+            for (int i = start; i < end; i++) {
+                result.get(i).setPosition(positions[i - start]);
+            }
+            start = end;
+        }
+
+        int moved = 0;
+        for (int i = 0; i < result.size(); i++) {
+            if (before[i] != null && !before[i].equals(result.get(i).getPosition())) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private static void renumber(List<ListItemEntity> result) {
+        for (int i = 0; i < result.size(); i++) {
+            result.get(i).setPosition(ListItemPositions.rank(i));
+        }
+    }
+
+    /**
+     * Marca la subsecuencia estrictamente creciente más larga de posiciones entre los elementos ya guardados
+     * (O(n log n)). Los elementos nuevos nunca forman parte de ella
+     */
+    private static boolean[] longestIncreasingRun(List<ListItemEntity> result) {
+        int n = result.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            Integer position = result.get(i).getPosition();
+            if (position == null) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (result.get(tails[mid]).getPosition() < position) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] anchored = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            anchored[i] = true;
+        }
+        return anchored;
+    }
+}
@@ -0,0 +1,69 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+
+/**
+ * Cálculo de posiciones dispersas. Un elemento nuevo o movido recibe una posición entre las de sus vecinos,
+ * así que solo se escribe su fila; cuando ya no queda hueco se renumera la lista con ListPositionRebalancer.
+ */
+final class ListItemPositions {
+
+    private ListItemPositions() {
+    }
+
+    /**
+     * Posición libre entre lower y upper (cualquiera de los dos puede faltar), o null si no queda hueco
+     */
+    static Integer between(Integer lower, Integer upper) {
+        long position;
+        if (lower == null && upper == null) {
+            position = 0;
+        } else if (lower == null) {
+            position = (long) upper - POSITION_GAP;
+        } else if (upper == null) {
+            position = (long) lower + POSITION_GAP;
+        } else {
+            if ((long) upper - lower < 2) {
+                return null;
+            }
+            position = lower + ((long) upper - lower) / 2;
+        }
+        return fits(position) ? (int) position : null;
+    }
+
+    /**
+     * count posiciones repartidas entre lower y upper (sin incluirlos), o null si no caben
+     */
+    static int[] spread(Integer lower, Integer upper, int count) {
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            long position;
+            if (lower == null && upper == null) {
+                position = (long) i * POSITION_GAP;
+            } else if (lower == null) {
+                position = (long) upper - (long) (count - i) * POSITION_GAP;
+            } else if (upper == null) {
+                position = (long) lower + (long) (i + 1) * POSITION_GAP;
+            } else {
+                long step = ((long) upper - lower) / (count + 1);
+                if (step < 1) {
+                    return null;
+                }
+                position = lower + step * (i + 1);
+            }
+            if (!fits(position)) {
+                return null;
+            }
+            positions[i] = (int) position;
+        }
+        return positions;
+    }
+
+    static int rank(int index) {
+        return index * POSITION_GAP;
+    }
+
+    private static boolean fits(long position) {
+        return position >= Integer.MIN_VALUE && position <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.ListItemRepository;
+import dev.ivan.reviewverso_back.lists.ListRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Renumbera las posiciones de una lista a múltiplos de POSITION_GAP. Se usa en el momento cuando una
+ * inserción no encuentra hueco entre sus vecinos y, de forma periódica, sobre las listas en las que dos
+ * elementos consecutivos han quedado a menos de min-gap, para que eso casi nunca ocurra en una petición.
+ */
+@Slf4j
+@Component
+public class ListPositionRebalancer {
+
+    private final ListRepository listRepository;
+    private final ListItemRepository listItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int minGap;
+
+    public ListPositionRebalancer(ListRepository listRepository, ListItemRepository listItemRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${lists.positions.rebalance-min-gap:8}") int minGap) {
+        this.listRepository = listRepository;
+        this.listItemRepository = listItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minGap = minGap;
+    }
+
+    /**
+     * Devuelve cuántos elementos han cambiado de posición; el orden de la lista no cambia
+     */
+    @Transactional
+    public int rebalance(Long listId) {
+        List<ListItemEntity> items = listItemRepository.findByListOrdered(listId);
+        int changed = 0;
+        for (int i = 0; i < items.size(); i++) {
+            int position = ListItemPositions.rank(i);
+            if (items.get(i).getPosition() != position) {
+                items.get(i).setPosition(position);
+                changed++;
+            }
+        }
+        listItemRepository.flush();
+        return changed;
+    }
+
+    /**
+     * Cada lista se renumera en su propia transacción para no bloquear todas a la vez. Antes se bloquea la
+     * fila de la lista, como en las escrituras de elementos, y se salta si la han borrado entre tanto
+     */
+    @Scheduled(cron = "${lists.positions.rebalance-cron:0 30 4 * * *}")
+    public int rebalanceCrowded() {
+        List<Long> listIds = listItemRepository.findCrowdedListIds(minGap);
+        for (Long listId : listIds) {
+            transactionTemplate.executeWithoutResult(status ->
+                    listRepository.findOwnerIdForUpdate(listId).ifPresent(ownerId -> rebalance(listId)));
+        }
+        if (!listIds.isEmpty()) {
+            log.info("Posiciones renumeradas en {} listas", listIds.size());
+        }
+        return listIds.size();
+    }
+}
@@ -1,11 +1,29 @@
 package dev.ivan.reviewverso_back.lists.service;
 
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.implementations.IListService;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemResponseDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListRequestDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListResponseDTO;
 
 import java.util.List;
 
 public interface ListService extends IListService<ListResponseDTO, ListRequestDTO> {
-    List<ListResponseDTO> getListsByUserId(Long userId);
+    // Elementos por lista en los feeds si no se pide otra cantidad; el resto se lee con getItemsPage
+    int DEFAULT_FEED_ITEMS = 10;
+
+    CursorPageDTO<ListResponseDTO> getListsPage(String cursor, int limit, int itemsLimit);
+
+    CursorPageDTO<ListResponseDTO> getListsByUserId(Long userId, String cursor, int limit, int itemsLimit);
+
+    ListResponseDTO getSummary(Long id, int itemsLimit);
+
+    CursorPageDTO<ListItemResponseDTO> getItemsPage(Long listId, String cursor, int limit);
+
+    ListItemResponseDTO addItem(Long listId, ListItemDTO dto);
+
+    void removeItem(Long listId, Long itemId);
+
+    ListItemResponseDTO moveItem(Long listId, Long itemId, int position);
 }
@@ -1,63 +1,139 @@
 package dev.ivan.reviewverso_back.lists.service;
 
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.lists.ListEntity;
 import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.ListItemRepository;
 import dev.ivan.reviewverso_back.lists.ListRepository;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemBoundsDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemPreviewDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemResponseDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListMapper;
 import dev.ivan.reviewverso_back.lists.dtos.ListRequestDTO;
 import dev.ivan.reviewverso_back.lists.dtos.ListResponseDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListRowDTO;
+import dev.ivan.reviewverso_back.lists.exceptions.ListAccessDeniedException;
+import dev.ivan.reviewverso_back.lists.exceptions.ListItemNotFoundException;
 import dev.ivan.reviewverso_back.lists.exceptions.ListNotFoundException;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
-import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ListServiceImpl implements ListService {
 
     private final ListRepository listRepository;
-    private final UserRepository userRepository;
+    private final ListItemRepository listItemRepository;
+    private final ListPositionRebalancer listPositionRebalancer;
+    private final CurrentUserResolver currentUserResolver;
     private final ListMapper listMapper;
 
     @Override
     @Transactional
     public ListResponseDTO createEntity(ListRequestDTO dto) {
-        UserEntity currentUser = getCurrentUser();
+        UserEntity currentUser = currentUserResolver.getCurrentUserReference();
         ListEntity list = listMapper.listRequestDtoToListEntity(dto, currentUser);
         ListEntity savedList = listRepository.save(list);
         return listMapper.listEntityToListResponseDto(savedList);
     }
 
     @Override
-    public List<ListResponseDTO> getEntities() {
-        return listRepository.findAll().stream()
-                .map(listMapper::listEntityToListResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ListResponseDTO> getListsPage(String cursor, int limit, int itemsLimit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        int itemsPerList = CursorCodec.normalizeLimit(itemsLimit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ListRowDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = listRepository.findNewest(fetchLimit);
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            rows = listRepository.findNewestAfter(CursorCodec.parse(parts[0], LocalDateTime::parse),
+                    CursorCodec.parse(parts[1], Long::valueOf), fetchLimit);
+        }
+        return toPage(rows, pageSize, itemsPerList);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ListResponseDTO getByID(Long id) {
-        ListEntity list = listRepository.findById(id)
+        ListRowDTO row = listRepository.findRowById(id)
+                .orElseThrow(() -> new ListNotFoundException("Lista no encontrada con id: " + id));
+        return listMapper.listRowToListResponseDto(row, listRepository.findItemRows(List.of(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListResponseDTO getSummary(Long id, int itemsLimit) {
+        ListRowDTO row = listRepository.findRowById(id)
                 .orElseThrow(() -> new ListNotFoundException("Lista no encontrada con id: " + id));
-        return listMapper.listEntityToListResponseDto(list);
+        List<ListItemRowDTO> items = listItemRepository.findFirstItems(id, Limit.of(CursorCodec.normalizeLimit(itemsLimit)));
+        return listMapper.listRowToListResponseDto(row, items, listItemRepository.findBounds(id).count());
+    }
+
+    /**
+     * Elementos de una lista por keyset sobre (position, id). El cursor lleva además el índice del siguiente
+     * elemento para que cada página informe de la posición real en la lista
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ListItemResponseDTO> getItemsPage(Long listId, String cursor, int limit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ListItemRowDTO> rows;
+        int firstIndex;
+        if (cursor == null || cursor.isBlank()) {
+            rows = listItemRepository.findFirstItems(listId, fetchLimit);
+            firstIndex = 0;
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 3);
+            rows = listItemRepository.findItemsAfter(listId, CursorCodec.parse(parts[0], Integer::valueOf),
+                    CursorCodec.parse(parts[1], Long::valueOf), fetchLimit);
+            firstIndex = CursorCodec.parse(parts[2], Integer::valueOf);
+        }
+        // Una página vacía puede ser una lista vacía o una que no existe; solo entonces se comprueba
+        if (rows.isEmpty() && !listRepository.existsById(listId)) {
+            throw new ListNotFoundException("Lista no encontrada con id: " + listId);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ListItemRowDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        List<ListItemResponseDTO> items = new ArrayList<>(page.size());
+        for (ListItemRowDTO row : page) {
+            items.add(listMapper.listItemRowToDto(row, firstIndex + items.size()));
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            ListItemRowDTO last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.position().toString(), last.idListItem().toString(),
+                    String.valueOf(firstIndex + page.size()));
+        }
+        return new CursorPageDTO<>(items, nextCursor, hasNext);
     }
 
     @Override
     @Transactional
     public ListResponseDTO updateEntity(Long id, ListRequestDTO dto) {
-        ListEntity list = listRepository.findById(id)
+        ListEntity list = listRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ListNotFoundException("Lista no encontrada con id: " + id));
 
-        UserEntity currentUser = getCurrentUser();
-        if (!list.getUser().getIdUser().equals(currentUser.getIdUser())) {
+        if (!list.getUser().getIdUser().equals(currentUserResolver.getCurrentUserId())) {
             throw new RuntimeException("No tienes permiso para editar esta lista");
         }
 
@@ -69,19 +145,9 @@ public class ListServiceImpl implements ListService {
         }
 
         if (dto.items() != null) {
-            list.getItems().clear();
-            
-            for (int i = 0; i < dto.items().size(); i++) {
-                var itemDto = dto.items().get(i);
-                ListItemEntity item = ListItemEntity.builder()
-                        .list(list)
-                        .contentType(itemDto.contentType())
-                        .contentId(itemDto.contentId())
-                        .apiSource(itemDto.apiSource())
-                        .position(i)
-                        .build();
-                list.getItems().add(item);
-            }
+            ListItemDiff.Result diff = ListItemDiff.apply(list, dto.items());
+            log.debug("Lista {}: {} elementos insertados, {} borrados, {} movidos",
+                    id, diff.inserted(), diff.deleted(), diff.moved());
         }
 
         ListEntity updatedList = listRepository.save(list);
@@ -94,8 +160,7 @@ public class ListServiceImpl implements ListService {
         ListEntity list = listRepository.findById(id)
                 .orElseThrow(() -> new ListNotFoundException("Lista no encontrada con id: " + id));
 
-        UserEntity currentUser = getCurrentUser();
-        if (!list.getUser().getIdUser().equals(currentUser.getIdUser())) {
+        if (!list.getUser().getIdUser().equals(currentUserResolver.getCurrentUserId())) {
             throw new RuntimeException("No tienes permiso para eliminar esta lista");
         }
 
@@ -103,15 +168,140 @@ public class ListServiceImpl implements ListService {
     }
 
     @Override
-    public List<ListResponseDTO> getListsByUserId(Long userId) {
-        return listRepository.findByUserId(userId).stream()
-                .map(listMapper::listEntityToListResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ListResponseDTO> getListsByUserId(Long userId, String cursor, int limit, int itemsLimit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        int itemsPerList = CursorCodec.normalizeLimit(itemsLimit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ListRowDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = listRepository.findNewestByUser(userId, fetchLimit);
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            rows = listRepository.findNewestByUserAfter(userId, CursorCodec.parse(parts[0], LocalDateTime::parse),
+                    CursorCodec.parse(parts[1], Long::valueOf), fetchLimit);
+        }
+        return toPage(rows, pageSize, itemsPerList);
+    }
+
+    /**
+     * Añade un elemento al final de la lista sin cargar los demás
+     */
+    @Override
+    @Transactional
+    public ListItemResponseDTO addItem(Long listId, ListItemDTO dto) {
+        checkOwner(listId, "No tienes permiso para editar esta lista");
+        ListItemBoundsDTO bounds = listItemRepository.findBounds(listId);
+        int count = bounds.count().intValue();
+        Integer position = ListItemPositions.between(bounds.maxPosition(), null);
+        if (position == null) {
+            listPositionRebalancer.rebalance(listId);
+            position = ListItemPositions.between(ListItemPositions.rank(count - 1), null);
+        }
+        ListItemEntity item = ListItemEntity.builder()
+                .list(listRepository.getReferenceById(listId))
+                .contentType(dto.contentType())
+                .contentId(dto.contentId())
+                .apiSource(dto.apiSource())
+                .position(position)
+                .build();
+        return listMapper.listItemEntityToDto(listItemRepository.save(item), count);
     }
 
-    private UserEntity getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUserName(username)
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado: " + username));
+    /**
+     * Borra solo la fila del elemento: con posiciones dispersas los demás no se renumeran
+     */
+    @Override
+    @Transactional
+    public void removeItem(Long listId, Long itemId) {
+        checkOwner(listId, "No tienes permiso para editar esta lista");
+        listItemRepository.delete(findItem(listId, itemId));
+    }
+
+    /**
+     * Mueve un elemento al índice pedido (acotado al tamaño de la lista). Recibe una posición entre las de
+     * sus nuevos vecinos, así que solo se escribe su fila
+     */
+    @Override
+    @Transactional
+    public ListItemResponseDTO moveItem(Long listId, Long itemId, int position) {
+        checkOwner(listId, "No tienes permiso para editar esta lista");
+        ListItemEntity item = findItem(listId, itemId);
+        int index = Math.max(0, Math.min(position, listItemRepository.findBounds(listId).count().intValue() - 1));
+        Integer[] neighbours = neighbourPositions(listId, itemId, index);
+        boolean inPlace = (neighbours[0] == null || neighbours[0] < item.getPosition())
+                && (neighbours[1] == null || item.getPosition() < neighbours[1]);
+        if (!inPlace) {
+            Integer newPosition = ListItemPositions.between(neighbours[0], neighbours[1]);
+            if (newPosition == null) {
+                listPositionRebalancer.rebalance(listId);
+                neighbours = neighbourPositions(listId, itemId, index);
+                newPosition = ListItemPositions.between(neighbours[0], neighbours[1]);
+            }
+            item.setPosition(newPosition);
+        }
+        return listMapper.listItemEntityToDto(item, index);
+    }
+
+    /**
+     * Posiciones del elemento anterior y del siguiente al índice, sin contar el elemento que se mueve
+     */
+    private Integer[] neighbourPositions(Long listId, Long itemId, int index) {
+        List<Integer> positions = listItemRepository.findNeighbourPositions(listId, itemId, Math.max(index - 1, 0));
+        if (index == 0) {
+            return new Integer[] { null, positions.isEmpty() ? null : positions.get(0) };
+        }
+        return new Integer[] { positions.isEmpty() ? null : positions.get(0), positions.size() > 1 ? positions.get(1) : null };
+    }
+
+    /**
+     * Comprueba el dueño y deja bloqueada la fila de la lista: las escrituras de elementos de una misma lista
+     * se ejecutan una detrás de otra
+     */
+    private void checkOwner(Long listId, String deniedMessage) {
+        Long ownerId = listRepository.findOwnerIdForUpdate(listId)
+                .orElseThrow(() -> new ListNotFoundException("Lista no encontrada con id: " + listId));
+        if (!ownerId.equals(currentUserResolver.getCurrentUserId())) {
+            throw new ListAccessDeniedException(deniedMessage);
+        }
+    }
+
+    private ListItemEntity findItem(Long listId, Long itemId) {
+        return listItemRepository.findInList(listId, itemId)
+                .orElseThrow(() -> new ListItemNotFoundException(
+                        "Elemento " + itemId + " no encontrado en la lista " + listId));
+    }
+
+    private CursorPageDTO<ListResponseDTO> toPage(List<ListRowDTO> rows, int pageSize, int itemsPerList) {
+        boolean hasNext = rows.size() > pageSize;
+        List<ListRowDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ListRowDTO last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(last.createdAt().toString(), last.idList().toString());
+        }
+        return new CursorPageDTO<>(toResponseDtos(page, itemsPerList), nextCursor, hasNext);
+    }
+
+    /**
+     * Segunda fase: una sola consulta trae los primeros itemsPerList elementos de cada lista con el total
+     * de la lista, y se reparten en memoria. El resto de elementos se pide con getItemsPage
+     */
+    private List<ListResponseDTO> toResponseDtos(List<ListRowDTO> rows, int itemsPerList) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ListItemRowDTO>> itemsByList = new HashMap<>();
+        Map<Long, Long> countByList = new HashMap<>();
+        for (ListItemPreviewDTO preview : listRepository.findFirstItemRows(
+                rows.stream().map(ListRowDTO::idList).toList(), itemsPerList)) {
+            Long listId = preview.item().listId();
+            itemsByList.computeIfAbsent(listId, key -> new ArrayList<>()).add(preview.item());
+            countByList.put(listId, preview.itemCount());
+        }
+        return rows.stream()
+                .map(row -> listMapper.listRowToListResponseDto(row, itemsByList.getOrDefault(row.idList(), List.of()),
+                        countByList.getOrDefault(row.idList(), 0L)))
+                .collect(Collectors.toList());
     }
 }
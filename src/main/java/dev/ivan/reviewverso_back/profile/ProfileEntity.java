@@ -14,7 +14,8 @@ import dev.ivan.reviewverso_back.user.UserEntity;
 @Builder
 public class ProfileEntity {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profiles_seq")
+	@SequenceGenerator(name = "profiles_seq", sequenceName = "profiles_seq", allocationSize = 50)
 	@Column(name = "id_profile")
 	private Long idProfile;
 
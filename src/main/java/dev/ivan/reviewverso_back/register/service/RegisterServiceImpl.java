@@ -9,7 +9,9 @@ import dev.ivan.reviewverso_back.profile.ProfileEntity;
 import dev.ivan.reviewverso_back.role.RoleEntity;
 import dev.ivan.reviewverso_back.role.RoleRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import dev.ivan.reviewverso_back.security.LoginIdentifiersChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,7 +27,8 @@ public class RegisterServiceImpl implements RegisterService {
 	private final UserRepository userRepository;
 	private final RoleRepository roleRepository;
 	private final FileStorageService fileStorageService;
-	private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
 	@Transactional
@@ -79,7 +82,8 @@ public class RegisterServiceImpl implements RegisterService {
 
 
 		userRepository.save(user);
-
+		// Un email o nombre recién registrado deja de estar en la caché negativa del login, tras el commit
+		eventPublisher.publishEvent(LoginIdentifiersChangedEvent.of(request.userName(), request.email()));
 
 		return RegisterMapper.toRegisterResponseDTO(user);
 	}
@@ -0,0 +1,64 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Agregado de valoraciones por contenido: suma, número de reseñas e histograma por estrellas.
+ * Se mantiene de forma incremental al crear, editar o borrar reseñas, así que leer las
+ * estadísticas de un contenido es una búsqueda por clave primaria.
+ */
+@Entity
+@Table(name = "content_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentStatsEntity {
+
+    @EmbeddedId
+    private ContentStatsId id;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double ratingSum = 0.0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    // Histograma: número de reseñas por valoración redondeada a la estrella más cercana
+    @Column(name = "count_0", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count0 = 0L;
+
+    @Column(name = "count_1", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count1 = 0L;
+
+    @Column(name = "count_2", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count2 = 0L;
+
+    @Column(name = "count_3", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count3 = 0L;
+
+    @Column(name = "count_4", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count4 = 0L;
+
+    @Column(name = "count_5", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long count5 = 0L;
+}
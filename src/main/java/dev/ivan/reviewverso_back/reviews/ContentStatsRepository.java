@@ -0,0 +1,18 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ContentStatsRepository extends JpaRepository<ContentStatsEntity, ContentStatsId>, ContentStatsUpsert {
+
+    // Estadísticas de varios contenidos en una sola consulta (findAllById con clave compuesta
+    // haría una consulta por id)
+    @Query("SELECT s FROM ContentStatsEntity s WHERE s.id IN :ids")
+    List<ContentStatsEntity> findAllByIds(@Param("ids") Collection<ContentStatsId> ids);
+}
@@ -0,0 +1,17 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+/**
+ * Fragmento de ContentStatsRepository con el upsert del agregado, que cambia de sintaxis según la base de datos
+ */
+public interface ContentStatsUpsert {
+
+    /**
+     * Crea la fila del contenido con el cambio ya aplicado o lo suma a la existente, en una sola sentencia y
+     * dentro de la transacción en curso. addedBucket/removedBucket indican qué casilla del histograma sube
+     * o baja (-1 si ninguna).
+     */
+    void upsertDelta(ContentType contentType, String contentId, double ratingDelta, long countDelta,
+                     int addedBucket, int removedBucket);
+}
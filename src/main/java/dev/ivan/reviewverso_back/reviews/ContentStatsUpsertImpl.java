@@ -0,0 +1,86 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL usa INSERT ... ON DUPLICATE KEY UPDATE, que es atómico frente a otra primera reseña simultánea.
+ * H2 (desarrollo y tests) usa MERGE INTO, que no lo es: si otra transacción confirma la fila entre medias
+ * el MERGE choca con la clave primaria y se repite una vez, ya sobre la fila existente.
+ */
+public class ContentStatsUpsertImpl implements ContentStatsUpsert {
+
+    private static final String MYSQL_UPSERT_SQL = """
+            INSERT INTO content_stats (content_type, content_id, rating_sum, review_count,
+                                       count_0, count_1, count_2, count_3, count_4, count_5)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) AS d
+            ON DUPLICATE KEY UPDATE
+                rating_sum = content_stats.rating_sum + d.rating_sum,
+                review_count = content_stats.review_count + d.review_count,
+                count_0 = content_stats.count_0 + d.count_0,
+                count_1 = content_stats.count_1 + d.count_1,
+                count_2 = content_stats.count_2 + d.count_2,
+                count_3 = content_stats.count_3 + d.count_3,
+                count_4 = content_stats.count_4 + d.count_4,
+                count_5 = content_stats.count_5 + d.count_5""";
+
+    private static final String H2_UPSERT_SQL = """
+            MERGE INTO content_stats s
+            USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(100)), CAST(? AS DOUBLE PRECISION),
+                           CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT),
+                           CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT)))
+                AS d (content_type, content_id, rating_sum, review_count,
+                      count_0, count_1, count_2, count_3, count_4, count_5)
+            ON s.content_type = d.content_type AND s.content_id = d.content_id
+            WHEN MATCHED THEN UPDATE SET
+                rating_sum = s.rating_sum + d.rating_sum,
+                review_count = s.review_count + d.review_count,
+                count_0 = s.count_0 + d.count_0,
+                count_1 = s.count_1 + d.count_1,
+                count_2 = s.count_2 + d.count_2,
+                count_3 = s.count_3 + d.count_3,
+                count_4 = s.count_4 + d.count_4,
+                count_5 = s.count_5 + d.count_5
+            WHEN NOT MATCHED THEN INSERT (content_type, content_id, rating_sum, review_count,
+                                          count_0, count_1, count_2, count_3, count_4, count_5)
+                VALUES (d.content_type, d.content_id, d.rating_sum, d.review_count,
+                        d.count_0, d.count_1, d.count_2, d.count_3, d.count_4, d.count_5)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean h2;
+
+    public ContentStatsUpsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertDelta(ContentType contentType, String contentId, double ratingDelta, long countDelta,
+                            int addedBucket, int removedBucket) {
+        List<Object> args = new ArrayList<>(List.of(contentType.name(), contentId, ratingDelta, countDelta));
+        for (int bucket = 0; bucket <= 5; bucket++) {
+            args.add((long) ((addedBucket == bucket ? 1 : 0) - (removedBucket == bucket ? 1 : 0)));
+        }
+        if (!isH2()) {
+            jdbcTemplate.update(MYSQL_UPSERT_SQL, args.toArray());
+            return;
+        }
+        try {
+            jdbcTemplate.update(H2_UPSERT_SQL, args.toArray());
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(H2_UPSERT_SQL, args.toArray());
+        }
+    }
+
+    private boolean isH2() {
+        if (h2 == null) {
+            h2 = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "H2".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return h2;
+    }
+}
@@ -1,9 +1,14 @@
 package dev.ivan.reviewverso_back.reviews;
 
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.implementations.IReviewService;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewRequestDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.enums.ReviewSort;
 import dev.ivan.reviewverso_back.reviews.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,14 +16,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping(path = "${api-endpoint}/reviews")
@@ -27,7 +28,7 @@ public class ReviewController {
 
     private final IReviewService<ReviewResponseDTO, ReviewRequestDTO> reviewService;
     private final ReviewService reviewLikeService;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
 
     @PostMapping
     public ResponseEntity<ReviewResponseDTO> createReview(@RequestBody ReviewRequestDTO reviewRequest) {
@@ -36,8 +37,11 @@ public class ReviewController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ReviewResponseDTO>> getAllReviews() {
-        List<ReviewResponseDTO> reviews = reviewService.getEntities();
+    public ResponseEntity<CursorPageDTO<ReviewResponseDTO>> getAllReviews(
+            @RequestParam(defaultValue = "NEWEST") ReviewSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_PAGE_SIZE) int limit) {
+        CursorPageDTO<ReviewResponseDTO> reviews = ((ReviewService)reviewService).getReviewFeed(sort, cursor, limit);
         return ResponseEntity.ok(reviews);
     }
 
@@ -76,36 +80,30 @@ public class ReviewController {
     }
 
     @GetMapping("/content/stats")
-    public ResponseEntity<Map<String, Object>> getContentStats(
+    public ResponseEntity<ContentStatsDTO> getContentStats(
             @RequestParam ContentType contentType,
             @RequestParam String contentId) {
-        Double averageRating = ((ReviewService)reviewService).getAverageRatingByContent(contentType, contentId);
-        Long totalReviews = ((ReviewService)reviewService).getTotalReviewsByContent(contentType, contentId);
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("contentType", contentType);
-        stats.put("contentId", contentId);
-        stats.put("averageRating", averageRating);
-        stats.put("totalReviews", totalReviews);
+        ContentStatsDTO stats = ((ReviewService)reviewService).getContentStats(contentType, contentId);
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/content/stats/batch")
+    public ResponseEntity<List<ContentStatsDTO>> getContentStatsBatch(@RequestBody List<ContentKeyDTO> contents) {
+        List<ContentStatsDTO> stats = ((ReviewService)reviewService).getContentStats(contents);
         return ResponseEntity.ok(stats);
     }
 
     @PostMapping("/{id}/like")
     public ResponseEntity<Void> likeReview(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        UserEntity user = userRepository.findByUserName(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
-        reviewLikeService.likeReview(id, user);
-        return ResponseEntity.ok().build();
+        UserEntity user = currentUserResolver.getCurrentUserReference();
+        boolean changed = reviewLikeService.likeReview(id, user);
+        return changed ? ResponseEntity.ok().build() : ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}/like")
     public ResponseEntity<Void> unlikeReview(@PathVariable Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        UserEntity user = userRepository.findByUserName(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
-        reviewLikeService.unlikeReview(id, user);
-        return ResponseEntity.ok().build();
+        UserEntity user = currentUserResolver.getCurrentUserReference();
+        boolean changed = reviewLikeService.unlikeReview(id, user);
+        return changed ? ResponseEntity.ok().build() : ResponseEntity.noContent().build();
     }
 }
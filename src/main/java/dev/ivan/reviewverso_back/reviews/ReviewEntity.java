@@ -5,6 +5,7 @@ import dev.ivan.reviewverso_back.reviews.enums.ContentType;
 import dev.ivan.reviewverso_back.user.UserEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +15,15 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", uniqueConstraints = {
+    // Una reseña por usuario y contenido. Su índice también sirve las búsquedas por user_id
+    @UniqueConstraint(name = "uk_reviews_user_content", columnNames = {"user_id", "contentType", "contentId"})
+}, indexes = {
+    @Index(name = "idx_reviews_content", columnList = "contentType, contentId"),
+    @Index(name = "idx_reviews_created_at_id", columnList = "createdAt, id_review"),
+    @Index(name = "idx_reviews_rating_id", columnList = "rating, id_review"),
+    @Index(name = "idx_reviews_like_count_id", columnList = "likeCount, id_review")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,7 +32,8 @@ import java.util.Set;
 public class ReviewEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     @Column(name = "id_review")
     private Long idReview;
 
@@ -59,6 +69,13 @@ public class ReviewEntity {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Contador desnormalizado de review_likes; solo lo escribe ReviewLikeCounter en segundo plano.
+    // Fuera del INSERT/UPDATE de la entidad para que editar una reseña no pise deltas ya volcados
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer likeCount = 0;
+
     @ManyToMany
     @JoinTable(
         name = "review_likes",
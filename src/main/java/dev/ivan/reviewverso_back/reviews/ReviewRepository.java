@@ -1,21 +1,48 @@
 package dev.ivan.reviewverso_back.reviews;
 
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRatingDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRowDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
 
+    // Proyección de lectura: autor y perfil unidos en la misma consulta, sin entidades gestionadas
+    String REVIEW_ROW_SELECT = """
+            SELECT new dev.ivan.reviewverso_back.reviews.dtos.ReviewRowDTO(
+                r.idReview, u.idUser, u.userName, p.profileImage, r.contentType, r.contentId, r.apiSource,
+                r.reviewTitle, r.reviewText, r.rating, r.createdAt, r.updatedAt, r.likeCount)
+            FROM ReviewEntity r JOIN r.user u LEFT JOIN u.profile p
+            """;
+
+    @Query(REVIEW_ROW_SELECT + "WHERE r.idReview = :idReview")
+    Optional<ReviewRowDTO> findRowById(@Param("idReview") Long idReview);
+
     // Obtiene todas las reseñas de un usuario específico
-    List<ReviewEntity> findByUser_IdUser(Long userId);
+    @Query(REVIEW_ROW_SELECT + "WHERE u.idUser = :userId")
+    List<ReviewRowDTO> findRowsByUserId(@Param("userId") Long userId);
+
+    // Contenido y valoración de las reseñas de un usuario, para descontarlas del agregado antes de borrarlo
+    @Query("""
+            SELECT new dev.ivan.reviewverso_back.reviews.dtos.ReviewRatingDTO(r.contentType, r.contentId, r.rating)
+            FROM ReviewEntity r WHERE r.user.idUser = :userId""")
+    List<ReviewRatingDTO> findRatingsByUserId(@Param("userId") Long userId);
 
     // Obtiene todas las reseñas de un contenido específico, como una película
-    List<ReviewEntity> findByContentTypeAndContentId(ContentType contentType, String contentId);
+    @Query(REVIEW_ROW_SELECT + "WHERE r.contentType = :contentType AND r.contentId = :contentId")
+    List<ReviewRowDTO> findRowsByContent(@Param("contentType") ContentType contentType, @Param("contentId") String contentId);
 
     // Calcular el rating promedio de un contenido
     @Query("SELECT AVG(r.rating) FROM ReviewEntity r WHERE r.contentType = :contentType AND r.contentId = :contentId")
@@ -24,6 +51,52 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
     // Contador para el número de reseñas de un contenido
     Long countByContentTypeAndContentId(ContentType contentType, String contentId);
 
-    // Verifica si un usuario ya escribió una reseña sobre un contenido específico
-    boolean existsByUser_IdUserAndContentTypeAndContentId(Long userId, ContentType contentType, String contentId);
+    // Feed paginado por keyset: cada página parte de la última fila vista en lugar de usar OFFSET,
+    // así una página profunda cuesta lo mismo que la primera.
+    @Query(REVIEW_ROW_SELECT + "ORDER BY r.createdAt DESC, r.idReview DESC")
+    List<ReviewRowDTO> findNewest(Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + """
+            WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.idReview < :idReview)
+            ORDER BY r.createdAt DESC, r.idReview DESC""")
+    List<ReviewRowDTO> findNewestAfter(@Param("createdAt") LocalDateTime createdAt, @Param("idReview") Long idReview, Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "ORDER BY r.rating DESC, r.idReview DESC")
+    List<ReviewRowDTO> findTopRated(Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + """
+            WHERE r.rating < :rating OR (r.rating = :rating AND r.idReview < :idReview)
+            ORDER BY r.rating DESC, r.idReview DESC""")
+    List<ReviewRowDTO> findTopRatedAfter(@Param("rating") Double rating, @Param("idReview") Long idReview, Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + "ORDER BY r.likeCount DESC, r.idReview DESC")
+    List<ReviewRowDTO> findMostLiked(Limit limit);
+
+    @Query(REVIEW_ROW_SELECT + """
+            WHERE r.likeCount < :likeCount OR (r.likeCount = :likeCount AND r.idReview < :idReview)
+            ORDER BY r.likeCount DESC, r.idReview DESC""")
+    List<ReviewRowDTO> findMostLikedAfter(@Param("likeCount") int likeCount, @Param("idReview") Long idReview, Limit limit);
+
+    // Like idempotente en una sola sentencia: inserta solo si la reseña existe y el par no está ya,
+    // sin cargar la colección likedByUsers. Devuelve 1 si se ha insertado y 0 si no ha cambiado nada.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO review_likes (review_id, user_id)
+            SELECT r.id_review, :userId FROM reviews r
+            WHERE r.id_review = :reviewId
+              AND NOT EXISTS (SELECT 1 FROM review_likes l WHERE l.review_id = :reviewId AND l.user_id = :userId)""",
+            nativeQuery = true)
+    int insertLikeIfAbsent(@Param("reviewId") Long reviewId, @Param("userId") Long userId);
+
+    // Quita el like directamente sobre review_likes. Devuelve el número de filas borradas (0 o 1)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM review_likes WHERE review_id = :reviewId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(@Param("reviewId") Long reviewId, @Param("userId") Long userId);
+
+    // Ids de las reseñas de una página a las que el usuario ha dado like, en una sola consulta
+    @Query(value = "SELECT l.review_id FROM review_likes l WHERE l.user_id = :userId AND l.review_id IN (:reviewIds)",
+            nativeQuery = true)
+    List<Long> findLikedReviewIds(@Param("userId") Long userId, @Param("reviewIds") Collection<Long> reviewIds);
 }
@@ -0,0 +1,9 @@
+package dev.ivan.reviewverso_back.reviews.dtos;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+public record ContentKeyDTO(
+        ContentType contentType,
+        String contentId
+) {
+}
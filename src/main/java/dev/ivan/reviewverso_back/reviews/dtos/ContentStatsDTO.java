@@ -0,0 +1,14 @@
+package dev.ivan.reviewverso_back.reviews.dtos;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+import java.util.Map;
+
+public record ContentStatsDTO(
+        ContentType contentType,
+        String contentId,
+        Double averageRating,
+        Long totalReviews,
+        Map<Integer, Long> ratingDistribution
+) {
+}
@@ -1,5 +1,6 @@
 package dev.ivan.reviewverso_back.reviews.dtos;
 
+import dev.ivan.reviewverso_back.globals.LongHashSet;
 import dev.ivan.reviewverso_back.reviews.ReviewEntity;
 import dev.ivan.reviewverso_back.user.UserEntity;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,34 +12,25 @@ public class ReviewMapper {
     @Value("${base-url}")
     private String baseUrl;
 
-
     public ReviewResponseDTO reviewEntityToReviewResponseDTO(ReviewEntity review) {
-        return reviewEntityToReviewResponseDTO(review, null);
+        return reviewEntityToReviewResponseDTO(review, LongHashSet.empty());
     }
 
-    public ReviewResponseDTO reviewEntityToReviewResponseDTO(ReviewEntity review, UserEntity currentUser) {
-        String profileImageUrl;
-        String imagePath = "/api/v1/files/images/";
-        if (review.getUser() != null && review.getUser().getProfile() != null) {
-            String fileName = review.getUser().getProfile().getProfileImage();
-            if (fileName != null && !fileName.isBlank()) {
-                profileImageUrl = baseUrl + imagePath + fileName;
-            } else {
-                profileImageUrl = baseUrl + imagePath + "default.png";
-            }
-        } else {
-            profileImageUrl = baseUrl + imagePath + "default.png";
-        }
-        int likeCount = review.getLikedByUsers() != null ? review.getLikedByUsers().size() : 0;
-        boolean likedByCurrentUser = false;
-        if (currentUser != null && review.getLikedByUsers() != null) {
-            likedByCurrentUser = review.getLikedByUsers().contains(currentUser);
-        }
+    /**
+     * @param likedReviewIds ids de las reseñas de la página a las que el usuario actual ha dado like,
+     *                       resueltos de una vez por el servicio
+     */
+    public ReviewResponseDTO reviewEntityToReviewResponseDTO(ReviewEntity review, LongHashSet likedReviewIds) {
+        String fileName = review.getUser() != null && review.getUser().getProfile() != null
+                ? review.getUser().getProfile().getProfileImage()
+                : null;
+        int likeCount = review.getLikeCount() != null ? review.getLikeCount() : 0;
+        boolean likedByCurrentUser = review.getIdReview() != null && likedReviewIds.contains(review.getIdReview());
         return new ReviewResponseDTO(
                 review.getIdReview(),
                 review.getUser().getIdUser(),
                 review.getUser().getUserName(),
-                profileImageUrl,
+                profileImageUrl(fileName),
                 review.getContentType(),
                 review.getContentId(),
                 review.getApiSource(),
@@ -52,6 +44,39 @@ public class ReviewMapper {
         );
     }
 
+    /**
+     * Variante para las lecturas: parte de la proyección {@link ReviewRowDTO} en lugar de la entidad,
+     * así que no toca relaciones lazy.
+     */
+    public ReviewResponseDTO reviewRowToReviewResponseDTO(ReviewRowDTO row, LongHashSet likedReviewIds) {
+        int likeCount = row.likeCount() != null ? row.likeCount() : 0;
+        boolean likedByCurrentUser = row.idReview() != null && likedReviewIds.contains(row.idReview());
+        return new ReviewResponseDTO(
+                row.idReview(),
+                row.userId(),
+                row.userName(),
+                profileImageUrl(row.profileImage()),
+                row.contentType(),
+                row.contentId(),
+                row.apiSource(),
+                row.reviewTitle(),
+                row.reviewText(),
+                row.rating(),
+                row.createdAt(),
+                row.updatedAt(),
+                likeCount,
+                likedByCurrentUser
+        );
+    }
+
+    private String profileImageUrl(String fileName) {
+        String imagePath = "/api/v1/files/images/";
+        if (fileName != null && !fileName.isBlank()) {
+            return baseUrl + imagePath + fileName;
+        }
+        return baseUrl + imagePath + "default.png";
+    }
+
     public ReviewEntity reviewRequestDTOToReviewEntity(ReviewRequestDTO dto, UserEntity user) {
         return ReviewEntity.builder()
                 .user(user)
@@ -0,0 +1,11 @@
+package dev.ivan.reviewverso_back.reviews.dtos;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+// Lo justo de una reseña para descontarla de content_stats
+public record ReviewRatingDTO(
+        ContentType contentType,
+        String contentId,
+        Double rating
+) {
+}
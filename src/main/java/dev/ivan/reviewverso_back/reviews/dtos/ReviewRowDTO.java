@@ -0,0 +1,28 @@
+package dev.ivan.reviewverso_back.reviews.dtos;
+
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de lectura de una reseña, rellenada por una proyección JPQL con los datos del autor
+ * y su perfil ya unidos. No es una entidad gestionada: no pasa por el contexto de persistencia
+ * ni dispara cargas lazy.
+ */
+public record ReviewRowDTO(
+        Long idReview,
+        Long userId,
+        String userName,
+        String profileImage,
+        ContentType contentType,
+        String contentId,
+        ApiSource apiSource,
+        String reviewTitle,
+        String reviewText,
+        Double rating,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Integer likeCount
+) {
+}
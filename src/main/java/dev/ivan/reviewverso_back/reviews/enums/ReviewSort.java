@@ -0,0 +1,7 @@
+package dev.ivan.reviewverso_back.reviews.enums;
+
+public enum ReviewSort {
+    NEWEST,
+    TOP_RATED,
+    MOST_LIKED
+}
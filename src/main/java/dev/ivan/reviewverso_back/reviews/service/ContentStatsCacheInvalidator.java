@@ -0,0 +1,28 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida solo la entrada del contenido afectado y solo tras el commit: si se borrara antes,
+ * una lectura concurrente podría volver a cachear los valores antiguos.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentStatsCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentStatsChanged(ContentStatsChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfiguration.CONTENT_STATS_CACHE);
+        if (cache != null) {
+            cache.evict(ContentStatsService.cacheKey(event.contentType(), event.contentId()));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+
+/**
+ * Se publica cada vez que cambia el agregado de valoraciones de un contenido
+ */
+public record ContentStatsChangedEvent(ContentType contentType, String contentId) {
+}
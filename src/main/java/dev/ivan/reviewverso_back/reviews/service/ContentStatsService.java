@@ -0,0 +1,146 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import dev.ivan.reviewverso_back.reviews.ContentStatsEntity;
+import dev.ivan.reviewverso_back.reviews.ContentStatsId;
+import dev.ivan.reviewverso_back.reviews.ContentStatsRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mantiene content_stats dentro de la misma transacción que escribe la reseña, con un UPDATE
+ * atómico de deltas, de modo que el agregado nunca queda desalineado con la tabla reviews.
+ * Las lecturas pasan por la caché contentStats; cada cambio publica un ContentStatsChangedEvent
+ * que invalida la entrada del contenido tras el commit. La fila de un contenido nuevo la crea el
+ * mismo upsert, así que la primera reseña no necesita una segunda conexión del pool.
+ */
+@Service
+public class ContentStatsService {
+
+    private static final int NO_BUCKET = -1;
+
+    private final ContentStatsRepository contentStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    public ContentStatsService(ContentStatsRepository contentStatsRepository, ApplicationEventPublisher eventPublisher,
+                               CacheManager cacheManager) {
+        this.contentStatsRepository = contentStatsRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+    }
+
+    @Transactional
+    public void reviewAdded(ContentType contentType, String contentId, double rating) {
+        applyDelta(contentType, contentId, rating, 1, bucket(rating), NO_BUCKET);
+    }
+
+    @Transactional
+    public void reviewRemoved(ContentType contentType, String contentId, double rating) {
+        applyDelta(contentType, contentId, -rating, -1, NO_BUCKET, bucket(rating));
+    }
+
+    @Transactional
+    public void ratingChanged(ContentType contentType, String contentId, double oldRating, double newRating) {
+        if (Double.compare(oldRating, newRating) == 0) {
+            return;
+        }
+        applyDelta(contentType, contentId, newRating - oldRating, 0, bucket(newRating), bucket(oldRating));
+    }
+
+    private void applyDelta(ContentType contentType, String contentId, double ratingDelta, long countDelta,
+                            int addedBucket, int removedBucket) {
+        contentStatsRepository.upsertDelta(contentType, contentId, ratingDelta, countDelta, addedBucket, removedBucket);
+        eventPublisher.publishEvent(new ContentStatsChangedEvent(contentType, contentId));
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.CONTENT_STATS_CACHE,
+            key = "T(dev.ivan.reviewverso_back.reviews.service.ContentStatsService).cacheKey(#contentType, #contentId)")
+    @Transactional(readOnly = true)
+    public ContentStatsDTO getStats(ContentType contentType, String contentId) {
+        ContentStatsEntity stats = contentStatsRepository.findById(new ContentStatsId(contentType, contentId))
+                .orElse(null);
+        return toDto(contentType, contentId, stats);
+    }
+
+    /**
+     * Estadísticas de varios contenidos con una única consulta. Devuelve una entrada por clave
+     * distinta, en el orden pedido; los contenidos sin reseñas salen con valores a cero.
+     * Comparte la caché con la consulta individual y solo va a base de datos a por los que faltan.
+     */
+    @Transactional(readOnly = true)
+    public List<ContentStatsDTO> getStats(List<ContentKeyDTO> keys) {
+        Cache cache = cacheManager.getCache(CacheConfiguration.CONTENT_STATS_CACHE);
+        Map<ContentStatsId, ContentStatsDTO> result = new LinkedHashMap<>();
+        Set<ContentStatsId> missing = new LinkedHashSet<>();
+        for (ContentKeyDTO key : keys) {
+            ContentStatsId id = new ContentStatsId(key.contentType(), key.contentId());
+            ContentStatsDTO cached = cache != null ? cache.get(cacheKey(key.contentType(), key.contentId()), ContentStatsDTO.class) : null;
+            result.put(id, cached);
+            if (cached == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<ContentStatsId, ContentStatsEntity> found = new HashMap<>();
+            for (ContentStatsEntity stats : contentStatsRepository.findAllByIds(missing)) {
+                found.put(stats.getId(), stats);
+            }
+            for (ContentStatsId id : missing) {
+                ContentStatsDTO dto = toDto(id.getContentType(), id.getContentId(), found.get(id));
+                result.put(id, dto);
+                if (cache != null) {
+                    cache.put(cacheKey(id.getContentType(), id.getContentId()), dto);
+                }
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    // Clave de la caché contentStats, compartida por @Cacheable, la consulta por lotes y la invalidación
+    public static String cacheKey(ContentType contentType, String contentId) {
+        return contentType.name() + ":" + contentId;
+    }
+
+    private static ContentStatsDTO toDto(ContentType contentType, String contentId, ContentStatsEntity stats) {
+        if (stats == null || stats.getReviewCount() <= 0) {
+            return new ContentStatsDTO(contentType, contentId, 0.0, 0L, distribution(null));
+        }
+        return new ContentStatsDTO(contentType, contentId,
+                stats.getRatingSum() / stats.getReviewCount(),
+                stats.getReviewCount(),
+                distribution(stats));
+    }
+
+    private static Map<Integer, Long> distribution(ContentStatsEntity stats) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(0, stats != null ? stats.getCount0() : 0L);
+        distribution.put(1, stats != null ? stats.getCount1() : 0L);
+        distribution.put(2, stats != null ? stats.getCount2() : 0L);
+        distribution.put(3, stats != null ? stats.getCount3() : 0L);
+        distribution.put(4, stats != null ? stats.getCount4() : 0L);
+        distribution.put(5, stats != null ? stats.getCount5() : 0L);
+        return Collections.unmodifiableMap(distribution);
+    }
+
+    // Valoración redondeada a la estrella más cercana (0-5)
+    static int bucket(double rating) {
+        return (int) Math.max(0, Math.min(5, Math.round(rating)));
+    }
+}
@@ -0,0 +1,168 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Acumula en memoria los cambios de likes por reseña y los vuelca a reviews.like_count
+ * en un único batch JDBC, en lugar de escribir la fila de la reseña en cada click.
+ * El ConcurrentHashMap reparte la contención por reseña entre sus bins, así que
+ * los likes a reseñas distintas no compiten entre sí. Cada escritura en review_likes y su delta
+ * van bajo el lado de lectura de un ReadWriteLock; la reconciliación toma el de escritura, así que
+ * nunca ve un like confirmado cuyo delta aún no esté en el mapa.
+ */
+@Component
+public class ReviewLikeCounter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE reviews SET like_count = like_count + ? WHERE id_review = ?";
+
+    private static final String ID_RANGE_SQL =
+            "SELECT COALESCE(MIN(id_review), 0), COALESCE(MAX(id_review), 0) FROM reviews";
+
+    // Un único COUNT por reseña del tramo; solo devuelve las que se han desviado
+    private static final String DRIFT_SQL = """
+            SELECT r.id_review, COUNT(l.user_id)
+            FROM reviews r LEFT JOIN review_likes l ON l.review_id = r.id_review
+            WHERE r.id_review >= ? AND r.id_review < ?
+            GROUP BY r.id_review, r.like_count
+            HAVING r.like_count <> COUNT(l.user_id)""";
+
+    private static final String REPAIR_SQL = "UPDATE reviews SET like_count = ? WHERE id_review = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int reconcileChunkSize;
+    private final Map<Long, Long> pendingDeltas = new ConcurrentHashMap<>();
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    public ReviewLikeCounter(JdbcTemplate jdbcTemplate,
+            @Value("${reviews.likes.reconcile-chunk-size:1000}") int reconcileChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+
+    /**
+     * Ejecuta la inserción del like y, si ha escrito la fila, acumula +1. Devuelve lo que devolvió insertLike
+     */
+    public boolean increment(Long reviewId, BooleanSupplier insertLike) {
+        return record(reviewId, 1, insertLike);
+    }
+
+    public boolean decrement(Long reviewId, BooleanSupplier deleteLike) {
+        return record(reviewId, -1, deleteLike);
+    }
+
+    /**
+     * Solo se acumulan likes confirmados: si la transacción que los produjo hace rollback
+     * el delta se descarta. El cerrojo se toma antes de escribir, sin cerrojos de la base de datos
+     * todavía, y se suelta cuando el delta ya está acumulado o descartado.
+     */
+    private boolean record(Long reviewId, long delta, BooleanSupplier write) {
+        reconcileLock.readLock().lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                if (!write.getAsBoolean()) {
+                    return false;
+                }
+                pendingDeltas.merge(reviewId, delta, Long::sum);
+                return true;
+            } finally {
+                reconcileLock.readLock().unlock();
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reconcileLock.readLock().unlock();
+            }
+        });
+        if (!write.getAsBoolean()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pendingDeltas.merge(reviewId, delta, Long::sum);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Vuelca los deltas acumulados. Cada entrada se retira del mapa de forma atómica,
+     * así que los likes que lleguen durante el volcado quedan para la siguiente pasada.
+     */
+    @Scheduled(fixedDelayString = "${reviews.likes.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long reviewId : pendingDeltas.keySet()) {
+            Long delta = pendingDeltas.remove(reviewId);
+            if (delta != null && delta != 0) {
+                batch.add(new Object[] { delta, reviewId });
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException e) {
+            // Se devuelven los deltas para reintentar en la siguiente pasada
+            batch.forEach(args -> pendingDeltas.merge((Long) args[1], (Long) args[0], Long::sum));
+            throw e;
+        }
+        return batch.size();
+    }
+
+    /**
+     * Repara la deriva entre like_count y review_likes (reinicios con deltas sin volcar,
+     * escrituras fuera de la aplicación...). Recorre las reseñas por tramos de id y toma el cerrojo
+     * de escritura solo mientras dura cada tramo, así que un like espera como mucho un tramo.
+     */
+    @Scheduled(cron = "${reviews.likes.reconcile-cron:0 0 4 * * *}")
+    public synchronized int reconcile() {
+        long[] ids = jdbcTemplate.queryForObject(ID_RANGE_SQL, (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        int repaired = 0;
+        for (long from = ids[0]; from <= ids[1]; from += reconcileChunkSize) {
+            repaired += reconcileChunk(from, from + reconcileChunkSize);
+        }
+        return repaired;
+    }
+
+    /**
+     * Vuelca lo pendiente y recalcula el tramo [from, to) con el cerrojo de escritura: ningún like
+     * queda contado por el recálculo y otra vez por su delta.
+     */
+    private int reconcileChunk(long from, long to) {
+        reconcileLock.writeLock().lock();
+        try {
+            flush();
+            List<Object[]> repairs = jdbcTemplate.query(DRIFT_SQL,
+                    (rs, rowNum) -> new Object[] { rs.getLong(2), rs.getLong(1) }, from, to);
+            if (!repairs.isEmpty()) {
+                jdbcTemplate.batchUpdate(REPAIR_SQL, repairs);
+            }
+            return repairs.size();
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -1,24 +1,46 @@
 package dev.ivan.reviewverso_back.reviews.service;
 
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.implementations.IReviewService;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewRequestDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.enums.ReviewSort;
 import dev.ivan.reviewverso_back.user.UserEntity;
 
 import java.util.List;
 
 public interface ReviewService extends IReviewService<ReviewResponseDTO, ReviewRequestDTO> {
 
+    CursorPageDTO<ReviewResponseDTO> getReviewFeed(ReviewSort sort, String cursor, int limit);
+
     List<ReviewResponseDTO> getReviewsByUserId(Long userId);
     
     List<ReviewResponseDTO> getReviewsByContent(ContentType contentType, String contentId);
     
+    /**
+     * Media, total e histograma de valoraciones de un contenido, leídos del agregado content_stats
+     */
+    ContentStatsDTO getContentStats(ContentType contentType, String contentId);
+
+    /**
+     * Estadísticas de varios contenidos en una sola consulta, para las rejillas del catálogo
+     */
+    List<ContentStatsDTO> getContentStats(List<ContentKeyDTO> keys);
+
     Double getAverageRatingByContent(ContentType contentType, String contentId);
     
     Long getTotalReviewsByContent(ContentType contentType, String contentId);
 
-    void unlikeReview(Long reviewId, UserEntity user);
+    /**
+     * Quita el like del usuario. Devuelve false si no había like que quitar
+     */
+    boolean unlikeReview(Long reviewId, UserEntity user);
 
-    void likeReview(Long reviewId, UserEntity user);
+    /**
+     * Da like a la reseña. Devuelve false si el usuario ya le había dado like
+     */
+    boolean likeReview(Long reviewId, UserEntity user);
 }
@@ -1,56 +1,95 @@
 package dev.ivan.reviewverso_back.reviews.service;
 
-
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
+import dev.ivan.reviewverso_back.globals.LongHashSet;
 import dev.ivan.reviewverso_back.reviews.ReviewEntity;
 import dev.ivan.reviewverso_back.reviews.ReviewRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewMapper;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewRequestDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRowDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.enums.ReviewSort;
 import dev.ivan.reviewverso_back.reviews.exceptions.DuplicateReviewException;
 import dev.ivan.reviewverso_back.reviews.exceptions.ReviewNotFoundException;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
 import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewServiceImpl implements ReviewService {
+    /**
+     * Sin @Transactional a propósito: cada sentencia va en su propia transacción del repositorio,
+     * así un choque con la clave primaria de review_likes (dos clicks simultáneos) se puede
+     * tratar como "ya tenía like" sin dejar marcada para rollback una transacción exterior.
+     * Cualquier otra violación (usuario borrado, reseña borrada a la vez) no es un like repetido.
+     */
     @Override
-    @Transactional
-    public void likeReview(Long reviewId, UserEntity user) {
-        ReviewEntity review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new ReviewNotFoundException("Reseña no encontrada con id: " + reviewId));
-        if (review.getLikedByUsers().contains(user)) {
-            return; // Ya ha dado like
+    public boolean likeReview(Long reviewId, UserEntity user) {
+        if (!reviewLikeCounter.increment(reviewId, () -> insertLike(reviewId, user))) {
+            ensureReviewExists(reviewId);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean insertLike(Long reviewId, UserEntity user) {
+        try {
+            return reviewRepository.insertLikeIfAbsent(reviewId, user.getIdUser()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateLike(e)) {
+                return false;
+            }
+            if (violates(e, LIKE_USER_CONSTRAINT)) {
+                throw new UserNotFoundException("Usuario no encontrado con id: " + user.getIdUser());
+            }
+            if (violates(e, LIKE_REVIEW_CONSTRAINT)) {
+                throw new ReviewNotFoundException("Reseña no encontrada con id: " + reviewId);
+            }
+            throw e;
         }
-        review.getLikedByUsers().add(user);
-        reviewRepository.save(review);
     }
 
     @Override
-    @Transactional
-    public void unlikeReview(Long reviewId, UserEntity user) {
-        ReviewEntity review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new ReviewNotFoundException("Reseña no encontrada con id: " + reviewId));
-        if (!review.getLikedByUsers().contains(user)) {
-            return; // No había like
+    public boolean unlikeReview(Long reviewId, UserEntity user) {
+        if (!reviewLikeCounter.decrement(reviewId, () -> reviewRepository.deleteLike(reviewId, user.getIdUser()) > 0)) {
+            ensureReviewExists(reviewId);
+            return false;
         }
-        review.getLikedByUsers().remove(user);
-        reviewRepository.save(review);
+        return true;
     }
 
+    private void ensureReviewExists(Long reviewId) {
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ReviewNotFoundException("Reseña no encontrada con id: " + reviewId);
+        }
+    }
+
+    static final int MAX_STATS_BATCH_SIZE = 100;
+    private static final String DUPLICATE_REVIEW_CONSTRAINT = "uk_reviews_user_content";
+    private static final String LIKES_TABLE = "review_likes";
+    private static final String LIKE_USER_CONSTRAINT = "fk_review_likes_user";
+    private static final String LIKE_REVIEW_CONSTRAINT = "fk_review_likes_review";
+
     private final ReviewRepository reviewRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final ReviewMapper reviewMapper;
+    private final ReviewLikeCounter reviewLikeCounter;
+    private final ContentStatsService contentStatsService;
 
     @Override
     @Transactional
@@ -59,26 +98,50 @@ public class ReviewServiceImpl implements ReviewService {
         validateReviewRequest(dto);
         
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        UserEntity user = userRepository.findByUserName(username)
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado: " + username));
+        UserEntity user = currentUserResolver.getCurrentUserReference();
 
-        boolean reviewExists = reviewRepository.existsByUser_IdUserAndContentTypeAndContentId(
-                user.getIdUser(), dto.contentType(), dto.contentId());
-        
-        if (reviewExists) {
+        // La restricción única (user_id, content_type, content_id) es la que decide si es duplicada:
+        // una comprobación previa con exists no evita que dos peticiones simultáneas pasen a la vez
+        ReviewEntity review = reviewMapper.reviewRequestDTOToReviewEntity(dto, user);
+        ReviewEntity savedReview;
+        try {
+            savedReview = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateReview(e)) {
+                throw e;
+            }
             throw new DuplicateReviewException(
                     "Ya has escrito una reseña sobre este contenido. Puedes editarla en lugar de crear una nueva.");
         }
+        contentStatsService.reviewAdded(savedReview.getContentType(), savedReview.getContentId(), savedReview.getRating());
 
-        ReviewEntity review = reviewMapper.reviewRequestDTOToReviewEntity(dto, user);
-        ReviewEntity savedReview = reviewRepository.save(review);
-        
         return reviewMapper.reviewEntityToReviewResponseDTO(savedReview);
     }
     
+    private static boolean isDuplicateReview(DataIntegrityViolationException e) {
+        return violates(e, DUPLICATE_REVIEW_CONSTRAINT);
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            return violation.getConstraintName().toLowerCase().contains(constraint);
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(constraint);
+    }
+
+    // La clave primaria de review_likes no tiene nombre propio: MySQL la llama PRIMARY y H2 PRIMARY_KEY_xx,
+    // así que se reconoce por la tabla y la palabra primary en el mensaje del driver
+    private static boolean isDuplicateLike(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        String normalized = message.toLowerCase();
+        return normalized.contains(LIKES_TABLE) && normalized.contains("primary");
+    }
+
     private void validateReviewRequest(ReviewRequestDTO dto) {
         if (dto.contentType() == null) {
             throw new IllegalArgumentException("El tipo de contenido es obligatorio");
@@ -111,20 +174,53 @@ public class ReviewServiceImpl implements ReviewService {
 
 
     @Override
-    public List<ReviewResponseDTO> getEntities() {
-        UserEntity currentUser = getCurrentUserOrNull();
-        return reviewRepository.findAll().stream()
-                .map(r -> reviewMapper.reviewEntityToReviewResponseDTO(r, currentUser))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewResponseDTO> getReviewFeed(ReviewSort sort, String cursor, int limit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        List<ReviewRowDTO> rows = fetchFeedRows(sort, cursor, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ReviewRowDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeFeedCursor(sort, page.get(page.size() - 1)) : null;
+
+        return new CursorPageDTO<>(toResponseDtos(page), nextCursor, hasNext);
+    }
+
+    private List<ReviewRowDTO> fetchFeedRows(ReviewSort sort, String cursor, Limit limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return switch (sort) {
+                case NEWEST -> reviewRepository.findNewest(limit);
+                case TOP_RATED -> reviewRepository.findTopRated(limit);
+                case MOST_LIKED -> reviewRepository.findMostLiked(limit);
+            };
+        }
+
+        String[] parts = CursorCodec.decode(cursor, 3);
+        if (!sort.name().equals(parts[0])) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        Long idReview = CursorCodec.parse(parts[2], Long::valueOf);
+        return switch (sort) {
+            case NEWEST -> reviewRepository.findNewestAfter(CursorCodec.parse(parts[1], LocalDateTime::parse), idReview, limit);
+            case TOP_RATED -> reviewRepository.findTopRatedAfter(CursorCodec.parse(parts[1], Double::valueOf), idReview, limit);
+            case MOST_LIKED -> reviewRepository.findMostLikedAfter(CursorCodec.parse(parts[1], Integer::valueOf), idReview, limit);
+        };
     }
 
+    private String encodeFeedCursor(ReviewSort sort, ReviewRowDTO last) {
+        String key = switch (sort) {
+            case NEWEST -> last.createdAt().toString();
+            case TOP_RATED -> last.rating().toString();
+            case MOST_LIKED -> last.likeCount().toString();
+        };
+        return CursorCodec.encode(sort.name(), key, last.idReview().toString());
+    }
 
     @Override
     public ReviewResponseDTO getByID(Long id) {
-        ReviewEntity review = reviewRepository.findById(id)
+        ReviewRowDTO review = reviewRepository.findRowById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Reseña no encontrada con id: " + id));
-        UserEntity currentUser = getCurrentUserOrNull();
-        return reviewMapper.reviewEntityToReviewResponseDTO(review, currentUser);
+        return toResponseDtos(List.of(review)).get(0);
     }
 
     @Override
@@ -132,6 +228,7 @@ public class ReviewServiceImpl implements ReviewService {
     public ReviewResponseDTO updateEntity(Long id, ReviewRequestDTO dto) {
         ReviewEntity review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Reseña no encontrada con id: " + id));
+        Double oldRating = review.getRating();
 
        
         if (dto.reviewTitle() != null) {
@@ -154,56 +251,79 @@ public class ReviewServiceImpl implements ReviewService {
         }
 
         ReviewEntity updatedReview = reviewRepository.save(review);
+        contentStatsService.ratingChanged(review.getContentType(), review.getContentId(), oldRating, review.getRating());
         return reviewMapper.reviewEntityToReviewResponseDTO(updatedReview);
     }
 
     @Override
     @Transactional
     public void deleteEntity(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ReviewNotFoundException("Reseña no encontrada con id: " + id);
-        }
-        reviewRepository.deleteById(id);
+        ReviewEntity review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ReviewNotFoundException("Reseña no encontrada con id: " + id));
+        reviewRepository.delete(review);
+        contentStatsService.reviewRemoved(review.getContentType(), review.getContentId(), review.getRating());
     }
 
 
     @Override
     public List<ReviewResponseDTO> getReviewsByUserId(Long userId) {
-        UserEntity currentUser = getCurrentUserOrNull();
-        return reviewRepository.findByUser_IdUser(userId).stream()
-                .map(r -> reviewMapper.reviewEntityToReviewResponseDTO(r, currentUser))
-                .collect(Collectors.toList());
+        return toResponseDtos(reviewRepository.findRowsByUserId(userId));
     }
 
 
     @Override
     public List<ReviewResponseDTO> getReviewsByContent(ContentType contentType, String contentId) {
-        UserEntity currentUser = getCurrentUserOrNull();
-        return reviewRepository.findByContentTypeAndContentId(contentType, contentId).stream()
-                .map(r -> reviewMapper.reviewEntityToReviewResponseDTO(r, currentUser))
+        return toResponseDtos(reviewRepository.findRowsByContent(contentType, contentId));
+    }
+
+    private List<ReviewResponseDTO> toResponseDtos(List<ReviewRowDTO> reviews) {
+        LongHashSet likedReviewIds = resolveLikedReviewIds(reviews);
+        return reviews.stream()
+                .map(r -> reviewMapper.reviewRowToReviewResponseDTO(r, likedReviewIds))
                 .collect(Collectors.toList());
     }
 
-    private UserEntity getCurrentUserOrNull() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
-                return null;
+    /**
+     * Resuelve en una sola consulta qué reseñas de la página le gustan al usuario actual,
+     * en vez de inicializar likedByUsers de cada reseña
+     */
+    private LongHashSet resolveLikedReviewIds(List<ReviewRowDTO> reviews) {
+        Long currentUserId = reviews.isEmpty() ? null : currentUserResolver.getCurrentUserIdOrNull();
+        if (currentUserId == null) {
+            return LongHashSet.empty();
+        }
+        List<Long> reviewIds = reviews.stream().map(ReviewRowDTO::idReview).toList();
+        return LongHashSet.of(reviewRepository.findLikedReviewIds(currentUserId, reviewIds));
+    }
+
+    @Override
+    public ContentStatsDTO getContentStats(ContentType contentType, String contentId) {
+        return contentStatsService.getStats(contentType, contentId);
+    }
+
+    @Override
+    public List<ContentStatsDTO> getContentStats(List<ContentKeyDTO> keys) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("Debes indicar al menos un contenido");
+        }
+        if (keys.size() > MAX_STATS_BATCH_SIZE) {
+            throw new IllegalArgumentException("No se pueden pedir más de " + MAX_STATS_BATCH_SIZE + " contenidos a la vez");
+        }
+        for (ContentKeyDTO key : keys) {
+            if (key == null || key.contentType() == null || key.contentId() == null || key.contentId().isBlank()) {
+                throw new IllegalArgumentException("Cada contenido necesita contentType y contentId");
             }
-            return userRepository.findByUserName(authentication.getName()).orElse(null);
-        } catch (Exception e) {
-            return null;
         }
+        return contentStatsService.getStats(keys);
     }
 
     @Override
     public Double getAverageRatingByContent(ContentType contentType, String contentId) {
-        Double average = reviewRepository.calculateAverageRating(contentType, contentId);
-        return average != null ? average : 0.0;
+        return contentStatsService.getStats(contentType, contentId).averageRating();
     }
 
     @Override
     public Long getTotalReviewsByContent(ContentType contentType, String contentId) {
-        return reviewRepository.countByContentTypeAndContentId(contentType, contentId);
+        return contentStatsService.getStats(contentType, contentId).totalReviews();
     }
 }
@@ -0,0 +1,69 @@
+package dev.ivan.reviewverso_back.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mide las etapas del login (autenticar, hash BCrypt y firma de tokens) como timers auth.stage con tag stage.
+ * Los timers se crean una vez; sin registro de métricas y con el log de DEBUG apagado la tarea se ejecuta
+ * directamente, sin leer el reloj
+ */
+@Slf4j
+public class AuthStageTimer {
+
+    public static final String METRIC_NAME = "auth.stage";
+
+    public enum Stage {
+        AUTHENTICATE, HASH, SIGN;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final AuthStageTimer NOOP = new AuthStageTimer(null);
+
+    private final Map<Stage, Timer> timers;
+
+    private AuthStageTimer(Map<Stage, Timer> timers) {
+        this.timers = timers;
+    }
+
+    public static AuthStageTimer noop() {
+        return NOOP;
+    }
+
+    public static AuthStageTimer bindTo(MeterRegistry registry) {
+        Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder(METRIC_NAME)
+                    .description("Duración de cada etapa del login")
+                    .tag("stage", stage.tag())
+                    .register(registry));
+        }
+        return new AuthStageTimer(timers);
+    }
+
+    public <T> T record(Stage stage, Supplier<T> task) {
+        if (timers == null && !log.isDebugEnabled()) {
+            return task.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (timers != null) {
+                timers.get(stage).record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            log.debug("Etapa {} completada en {} µs", stage.tag(), TimeUnit.NANOSECONDS.toMicros(elapsed));
+        }
+    }
+}
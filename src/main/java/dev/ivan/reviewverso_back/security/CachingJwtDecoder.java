@@ -0,0 +1,132 @@
+package dev.ivan.reviewverso_back.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * JwtDecoder que recuerda los tokens ya verificados hasta su exp. Un mismo token llega en cada petición
+ * de la sesión, así que solo el primer uso paga el parseo y la comprobación de la firma HS512.
+ * La clave es el SHA-256 del token para no guardar bearer tokens en memoria. Los tokens inválidos
+ * no se cachean: el delegado lanza la excepción y la siguiente petición vuelve a validarlos.
+ * El validador por petición (revocación) se aplica siempre, también a los tokens servidos desde la caché.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String CACHE_NAME = "jwtDecode";
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final OAuth2TokenValidator<Jwt> perRequestValidator;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, OAuth2TokenValidator<Jwt> perRequestValidator, Clock clock) {
+        this.delegate = delegate;
+        this.perRequestValidator = perRequestValidator;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires(clock))
+                .ticker(() -> clock.millis() * 1_000_000L)
+                .recordStats()
+                .build();
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, OAuth2TokenValidator<Jwt> perRequestValidator) {
+        this(delegate, maximumSize, perRequestValidator, Clock.systemUTC());
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this(delegate, maximumSize, jwt -> OAuth2TokenValidatorResult.success());
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        Jwt jwt = cache.get(digest(token), key -> delegate.decode(token));
+        OAuth2TokenValidatorResult result = perRequestValidator.validate(jwt);
+        if (result.hasErrors()) {
+            throw new JwtValidationException(result.getErrors().iterator().next().getDescription(), result.getErrors());
+        }
+        return jwt;
+    }
+
+    /**
+     * Olvida un token concreto, para que la siguiente petición lo vuelva a validar
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Publica tamaño, aciertos, fallos y expulsiones como métricas cache.* con cache=jwtDecode. Lleva los mismos
+     * tags que Actuator pone a las cachés de Spring: Prometheus descarta los meters con otro juego de tags
+     */
+    public CachingJwtDecoder bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME, "cache.manager", "jwtDecoder", "name", CACHE_NAME);
+        return this;
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Cada entrada vive como mucho hasta el exp de su token, sin sumar los 60 s de desfase de reloj que admite
+     * el validador del delegado. Pasado el exp el token vuelve al delegado, que decide con su propia tolerancia;
+     * un token que ya llega dentro de ese margen se valida en cada petición y nunca se cachea. Así la caché no
+     * alarga la vida de ningún token más allá de lo que aceptaría el decoder sin caché. Sin exp no se reutiliza
+     */
+    private record UntilTokenExpires(Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+            return untilExpiry.isNegative() ? 0 : untilExpiry.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
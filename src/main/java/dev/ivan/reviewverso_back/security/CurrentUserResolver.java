@@ -0,0 +1,97 @@
+package dev.ivan.reviewverso_back.security;
+
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Usuario autenticado de la petición actual. El id sale del claim userId del JWT, sin ir a base de datos;
+ * la entidad completa solo se carga si alguien la pide, y como mucho una vez por petición.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    private boolean idResolved;
+    private boolean userExists;
+    private Long userId;
+    private UserEntity user;
+
+    /**
+     * Id del usuario autenticado, o null si la petición es anónima
+     */
+    public Long getCurrentUserIdOrNull() {
+        if (!idResolved) {
+            userId = resolveUserId();
+            idResolved = true;
+        }
+        return userId;
+    }
+
+    public Long getCurrentUserId() {
+        Long id = getCurrentUserIdOrNull();
+        if (id == null) {
+            throw new UserNotFoundException("Usuario no autenticado");
+        }
+        return id;
+    }
+
+    /**
+     * Referencia ligera para asociar entidades al usuario (por ejemplo como autor) sin cargarlo. Comprueba
+     * una vez por petición, por clave primaria, que el usuario sigue existiendo: un token aún válido de una
+     * cuenta borrada debe dar UserNotFoundException y no un fallo de clave foránea al escribir.
+     */
+    public UserEntity getCurrentUserReference() {
+        if (user != null) {
+            return user;
+        }
+        Long id = getCurrentUserId();
+        if (!userExists) {
+            if (!userRepository.existsById(id)) {
+                throw new UserNotFoundException("Usuario no encontrado con id: " + id);
+            }
+            userExists = true;
+        }
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Entidad completa del usuario, para los casos que necesitan más que el id
+     */
+    public UserEntity getCurrentUser() {
+        if (user == null) {
+            Long id = getCurrentUserId();
+            user = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con id: " + id));
+        }
+        return user;
+    }
+
+    private Long resolveUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication
+                && jwtAuthentication.getToken().getClaims().get("userId") instanceof Number claim) {
+            return claim.longValue();
+        }
+        if (authentication.getPrincipal() instanceof SecurityUser securityUser) {
+            return securityUser.getUserId();
+        }
+        // Tokens sin claim userId o autenticación básica: se busca por nombre, una sola vez
+        user = userRepository.findByUserName(authentication.getName()).orElse(null);
+        return user != null ? user.getIdUser() : null;
+    }
+}
@@ -1,27 +1,75 @@
 package dev.ivan.reviewverso_back.security;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
+import dev.ivan.reviewverso_back.user.UserEntity;
 import dev.ivan.reviewverso_back.user.UserRepository;
 
+import java.util.List;
+
 @Service
-public class JpaUserDetailsService implements UserDetailsService {
+public class JpaUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
         private UserRepository userRepository;
+        private Cache unknownIdentifiers;
 
-    public JpaUserDetailsService(UserRepository userRepository) {
+    public JpaUserDetailsService(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.unknownIdentifiers = cacheManager.getCache(CacheConfiguration.UNKNOWN_LOGIN_CACHE);
     }
 
+    /**
+     * Una sola consulta por email o userName (roles incluidos). Si coinciden dos usuarios gana el del email,
+     * como antes. Los identificadores que no existen se recuerdan unos segundos en la caché negativa
+     */
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
-  
-        return userRepository.findByEmail(identifier)
-                .or(() -> userRepository.findByUserName(identifier))
-                .map(SecurityUser::new)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email o userName: " + identifier));
+        String key = unknownKey(identifier);
+        if (unknownIdentifiers != null && unknownIdentifiers.get(key) != null) {
+            throw notFound(identifier);
+        }
+
+        List<UserEntity> candidates = userRepository.findLoginCandidates(identifier);
+        UserEntity user = candidates.stream()
+                .filter(candidate -> identifier.equalsIgnoreCase(candidate.getEmail()))
+                .findFirst()
+                .orElse(candidates.isEmpty() ? null : candidates.get(0));
+        if (user == null) {
+            if (unknownIdentifiers != null) {
+                unknownIdentifiers.put(key, Boolean.TRUE);
+            }
+            throw notFound(identifier);
+        }
+        return new SecurityUser(user);
+    }
+
+    /**
+     * Clave de la caché negativa: el identificador tal cual. findLoginCandidates compara exacto en H2 y con
+     * colaciones _bin/_cs de MySQL, así que un fallo con "Alice" no dice nada de "alice"
+     */
+    public static String unknownKey(String identifier) {
+        return identifier == null ? "" : identifier;
+    }
+
+    private static UsernameNotFoundException notFound(String identifier) {
+        return new UsernameNotFoundException("Usuario no encontrado con email o userName: " + identifier);
+    }
+
+    /**
+     * Guarda el hash rehecho por DaoAuthenticationProvider cuando el coste de BCrypt ha subido
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity entity = userRepository.findByUserName(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con userName: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        return new SecurityUser(userRepository.save(entity));
     }
 }
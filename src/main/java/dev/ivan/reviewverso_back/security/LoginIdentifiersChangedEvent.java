@@ -0,0 +1,15 @@
+package dev.ivan.reviewverso_back.security;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Se publica al registrar un usuario o cambiar su email o userName: esos identificadores ya pueden existir
+ */
+public record LoginIdentifiersChangedEvent(List<String> identifiers) {
+
+    public static LoginIdentifiersChangedEvent of(String... identifiers) {
+        return new LoginIdentifiersChangedEvent(Stream.of(identifiers).filter(Objects::nonNull).toList());
+    }
+}
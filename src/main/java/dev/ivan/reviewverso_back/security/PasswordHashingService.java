@@ -0,0 +1,143 @@
+package dev.ivan.reviewverso_back.security;
+
+import dev.ivan.reviewverso_back.security.exceptions.PasswordHashingBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder único de la aplicación. BCrypt con un coste calibrado al arrancar para acercarse a una
+ * latencia objetivo, ejecutado en un pool propio y acotado para que una ráfaga de logins no ocupe los
+ * hilos de Tomcat. Si la cola está llena se rechaza el trabajo con PasswordHashingBusyException (503).
+ */
+@Slf4j
+public class PasswordHashingService implements PasswordEncoder, AutoCloseable {
+
+    private static final String CALIBRATION_SAMPLE = "calibracion-bcrypt";
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private AuthStageTimer stageTimer = AuthStageTimer.noop();
+
+    public PasswordHashingService(int strength, int threads, int queueCapacity) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new HashingThread(runnable, "password-hash-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Crea el servicio con el mayor coste entre minStrength y maxStrength cuyo hash no supere targetMillis
+     */
+    public static PasswordHashingService calibrated(long targetMillis, int minStrength, int maxStrength,
+                                                    int threads, int queueCapacity) {
+        int strength = calibrate(targetMillis, minStrength, maxStrength);
+        log.info("Coste BCrypt calibrado a {} (objetivo {} ms)", strength, targetMillis);
+        return new PasswordHashingService(strength, threads, queueCapacity);
+    }
+
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        long nanos = measure(minStrength);
+        int strength = minStrength;
+        // Cada punto de coste duplica el trabajo de BCrypt
+        while (strength < maxStrength && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos *= 2;
+        }
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(CALIBRATION_SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Registra cada encode y matches como etapa hash del login
+     */
+    public PasswordHashingService timedBy(AuthStageTimer stageTimer) {
+        this.stageTimer = stageTimer;
+        return this;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Ejecuta una tarea en el pool de hashing; lo que haga dentro con este encoder corre en el mismo hilo
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Demasiadas peticiones de autenticación, inténtalo de nuevo en unos segundos", e);
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return runOnHashingPool(() -> stageTimer.record(AuthStageTimer.Stage.HASH, () -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return runOnHashingPool(() -> stageTimer.record(AuthStageTimer.Stage.HASH,
+                () -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Los hashes con un coste menor que el actual se rehacen en el siguiente login correcto
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T runOnHashingPool(Supplier<T> task) {
+        if (Thread.currentThread() instanceof HashingThread) {
+            return task.get();
+        }
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class HashingThread extends Thread {
+        private HashingThread(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.ivan.reviewverso_back.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Convierte el claim scope del JWT en authorities. Solo hay unas pocas combinaciones de roles,
+ * así que cada scope se traduce una vez y las peticiones siguientes reciben la misma lista inmutable.
+ */
+public class ScopeAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    static final int MAX_CACHED_SCOPES = 256;
+
+    private final ConcurrentMap<String, List<GrantedAuthority>> authoritiesByScope = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        String scope = jwt.getClaimAsString("scope");
+        if (scope == null || scope.isBlank()) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = authoritiesByScope.get(scope);
+        if (authorities != null) {
+            return authorities;
+        }
+        // El scope lo firma el servidor, pero el tope evita que la caché crezca sin límite si cambian los roles
+        if (authoritiesByScope.size() >= MAX_CACHED_SCOPES) {
+            return toAuthorities(scope);
+        }
+        return authoritiesByScope.computeIfAbsent(scope, ScopeAuthoritiesConverter::toAuthorities);
+    }
+
+    static List<GrantedAuthority> toAuthorities(String scope) {
+        return Arrays.stream(scope.trim().split("\\s+"))
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
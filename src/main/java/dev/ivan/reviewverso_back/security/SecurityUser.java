@@ -33,7 +33,6 @@ public class SecurityUser implements UserDetails {
         Collection<GrantedAuthority> authorities = new ArrayList<GrantedAuthority>();
 
         for (RoleEntity role : user.getRoles()) {
-            System.out.println("User role : " + role.getName());
             SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role.getName());
             authorities.add(authority);
         }
@@ -0,0 +1,28 @@
+package dev.ivan.reviewverso_back.security;
+
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Saca de la caché negativa del login los identificadores recién creados, solo tras el commit: si se
+ * borraran antes, un login concurrente aún no vería el usuario y volvería a marcarlos como desconocidos.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnknownLoginCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLoginIdentifiersChanged(LoginIdentifiersChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfiguration.UNKNOWN_LOGIN_CACHE);
+        if (cache != null) {
+            event.identifiers().forEach(identifier -> cache.evict(JpaUserDetailsService.unknownKey(identifier)));
+        }
+    }
+}
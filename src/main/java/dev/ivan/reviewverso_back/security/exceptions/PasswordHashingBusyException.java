@@ -0,0 +1,7 @@
+package dev.ivan.reviewverso_back.security.exceptions;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
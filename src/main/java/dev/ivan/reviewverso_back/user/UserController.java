@@ -7,8 +7,10 @@ import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import dev.ivan.reviewverso_back.user.service.UserService;
 import dev.ivan.reviewverso_back.implementations.IUserService;
 import dev.ivan.reviewverso_back.role.RoleEntity;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +19,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -26,24 +26,15 @@ import java.security.Principal;
 import java.util.List;
 import java.util.Set;
 
+@Slf4j
 @RestController
 @RequestMapping(path = "${api-endpoint}/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final IUserService<UserResponseDTO, UserRequestDTO> userService;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
 
-    private Long getUserIdFromJwt(Principal principal) {
-        if (principal instanceof Authentication authentication) {
-            if (authentication.getPrincipal() instanceof Jwt jwt) {
-                return jwt.getClaim("userId");
-            }
-        }
-        return null;
-    }
-
- 
     private boolean hasRole(Principal principal, String roleName) {
         if (principal instanceof Authentication authentication) {
             return authentication.getAuthorities().stream()
@@ -56,18 +47,6 @@ public class UserController {
     }
 
   
-    private UserEntity getCurrentUserEntity(Principal principal) {
-        Long userId = getUserIdFromJwt(principal);
-        if (userId != null) {
-            return userRepository.findById(userId)
-                    .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
-        }
-  
-        return userRepository.findByUserName(principal.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
-    }
-
-
     @GetMapping("")
     public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
         return ResponseEntity.ok(userService.getEntities());
@@ -76,10 +55,9 @@ public class UserController {
 
    @GetMapping("/{id}")
 public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long id, Principal principal) {
-    UserEntity currentUser = getCurrentUserEntity(principal);
     boolean isAdmin = hasRole(principal, "ADMIN");
 
-    if (!isAdmin && !currentUser.getIdUser().equals(id)) {
+    if (!isAdmin && !currentUserResolver.getCurrentUserId().equals(id)) {
         throw new UserAccessDeniedException("No puedes acceder a otro usuario");
     }
 
@@ -93,11 +71,10 @@ public ResponseEntity<UserResponseDTO> updateUser(
         @RequestPart("data") UserRequestDTO dto,
         @RequestPart(value = "profileImage", required = false) MultipartFile profileImage,
         Principal principal) {
-        System.out.println("<------- "+profileImage);
-    UserEntity currentUser = getCurrentUserEntity(principal);
+        log.debug("Actualizando usuario {} (imagen nueva: {})", id, profileImage != null);
     boolean isAdmin = hasRole(principal, "ADMIN");
 
-    if (!isAdmin && !currentUser.getIdUser().equals(id)) {
+    if (!isAdmin && !currentUserResolver.getCurrentUserId().equals(id)) {
         throw new UserAccessDeniedException("No puedes editar otro usuario");
     }
 
@@ -106,10 +83,9 @@ public ResponseEntity<UserResponseDTO> updateUser(
 
 @DeleteMapping("/{id}")
 public ResponseEntity<Void> deleteUser(@PathVariable Long id, Principal principal) {
-    UserEntity currentUser = getCurrentUserEntity(principal);
     boolean isAdmin = hasRole(principal, "ADMIN");
 
-    if (!isAdmin && !currentUser.getIdUser().equals(id)) {
+    if (!isAdmin && !currentUserResolver.getCurrentUserId().equals(id)) {
         throw new UserAccessDeniedException("No puedes borrar otro usuario");
     }
 
@@ -119,7 +95,6 @@ public ResponseEntity<Void> deleteUser(@PathVariable Long id, Principal principa
       
     @GetMapping("/me")
 public ResponseEntity<UserResponseDTO> getCurrentUser(Principal principal) {
-    UserEntity user = getCurrentUserEntity(principal);
-    return ResponseEntity.ok(userService.getByID(user.getIdUser()));
+    return ResponseEntity.ok(userService.getByID(currentUserResolver.getCurrentUserId()));
 }
 }
\ No newline at end of file
@@ -13,7 +13,10 @@ import lombok.*;
 import dev.ivan.reviewverso_back.profile.ProfileEntity;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Login por nombre de usuario (el email ya está cubierto por su restricción única)
+    @Index(name = "idx_users_user_name", columnList = "userName")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +27,8 @@ public class UserEntity {
 
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "id_user")
     private Long idUser;
 
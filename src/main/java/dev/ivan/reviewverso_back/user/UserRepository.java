@@ -1,9 +1,21 @@
 package dev.ivan.reviewverso_back.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByUserName(String userName);
+
+    /**
+     * Usuarios cuyo email o userName coinciden con el identificador del login, con roles y perfil
+     * en la misma consulta. Puede haber dos si el email de uno es el nombre de otro
+     */
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.profile " +
+           "WHERE u.email = :identifier OR u.userName = :identifier")
+    List<UserEntity> findLoginCandidates(@Param("identifier") String identifier);
 }
@@ -7,7 +7,12 @@ import dev.ivan.reviewverso_back.user.dtos.UserResponseDTO;
 import dev.ivan.reviewverso_back.user.dtos.UserMapper;
 import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import dev.ivan.reviewverso_back.role.RoleRepository;
+import dev.ivan.reviewverso_back.reviews.ReviewRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRatingDTO;
+import dev.ivan.reviewverso_back.reviews.service.ContentStatsService;
+import dev.ivan.reviewverso_back.security.LoginIdentifiersChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -23,6 +28,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final FileStorageService fileStorageService;
+    private final ReviewRepository reviewRepository;
+    private final ContentStatsService contentStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<UserResponseDTO> getEntities() {
@@ -87,6 +95,10 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.save(user);
+        // Un email o nombre nuevo deja de estar en la caché negativa del login, tras el commit
+        if (dto.userName() != null || dto.email() != null) {
+            eventPublisher.publishEvent(LoginIdentifiersChangedEvent.of(dto.userName(), dto.email()));
+        }
         return new UserMapper(roleRepository).userEntityToUserResponseDto(user);
     }
 
@@ -102,6 +114,10 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException("Usuario no encontrado con id: " + id);
         }
+        // Las reseñas se borran en cascada sin pasar por ReviewService, así que se descuentan aquí de content_stats
+        for (ReviewRatingDTO review : reviewRepository.findRatingsByUserId(id)) {
+            contentStatsService.reviewRemoved(review.contentType(), review.contentId(), review.rating());
+        }
         userRepository.deleteById(id);
     }
 
@@ -0,0 +1,3 @@
+-- Roles base que antes cargaba data.sql
+INSERT INTO roles (name) VALUES ('ROLE_USER');
+INSERT INTO roles (name) VALUES ('ROLE_ADMIN');
@@ -0,0 +1,2 @@
+-- El login busca por email o por user_name en una sola consulta; email ya tiene su índice único
+CREATE INDEX idx_users_user_name ON users (user_name);
@@ -0,0 +1,3 @@
+-- Paginación por keyset de GET /lists (created_at, id_list) y de GET /lists/user/{id} (user_id, created_at, id_list)
+CREATE INDEX idx_lists_created_at_id ON lists (created_at, id_list);
+CREATE INDEX idx_lists_user_created_at_id ON lists (user_id, created_at, id_list);
@@ -0,0 +1,18 @@
+-- Ids por secuencia en bloques de 50 (optimizador pooled-lo) para que Hibernate pueda agrupar los INSERT en lotes
+-- JDBC; con IDENTITY necesita el id de cada fila antes de seguir. Cada secuencia arranca tras el id más alto.
+-- Las columnas conservan IDENTITY, pero la aplicación ya siempre envía el id.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id_user), 0) + 1 FROM users);
+
+CREATE SEQUENCE profiles_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE profiles_seq RESTART WITH (SELECT COALESCE(MAX(id_profile), 0) + 1 FROM profiles);
+
+CREATE SEQUENCE reviews_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE reviews_seq RESTART WITH (SELECT COALESCE(MAX(id_review), 0) + 1 FROM reviews);
+
+CREATE SEQUENCE lists_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE lists_seq RESTART WITH (SELECT COALESCE(MAX(id_list), 0) + 1 FROM lists);
+
+CREATE SEQUENCE list_items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE list_items_seq RESTART WITH (SELECT COALESCE(MAX(id_list_item), 0) + 1 FROM list_items);
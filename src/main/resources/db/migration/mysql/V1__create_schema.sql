@@ -0,0 +1,101 @@
+-- Esquema inicial. A partir de aquí Hibernate solo valida (ddl-auto=validate): cualquier cambio
+-- de tablas o índices va en una migración nueva.
+
+CREATE TABLE users (
+    id_user   BIGINT NOT NULL AUTO_INCREMENT,
+    email     VARCHAR(100) NOT NULL,
+    user_name VARCHAR(100) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id_user),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE roles (
+    id_role BIGINT NOT NULL AUTO_INCREMENT,
+    name    VARCHAR(255),
+    PRIMARY KEY (id_role),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE roles_users (
+    role_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_roles_users_role FOREIGN KEY (role_id) REFERENCES roles (id_role),
+    CONSTRAINT fk_roles_users_user FOREIGN KEY (user_id) REFERENCES users (id_user)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE profiles (
+    id_profile    BIGINT NOT NULL AUTO_INCREMENT,
+    user_id       BIGINT,
+    profile_image VARCHAR(512),
+    PRIMARY KEY (id_profile),
+    CONSTRAINT uk_profiles_user UNIQUE (user_id),
+    CONSTRAINT fk_profiles_user FOREIGN KEY (user_id) REFERENCES users (id_user)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE reviews (
+    id_review    BIGINT NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT NOT NULL,
+    content_type ENUM ('BOOK','GAME','MOVIE','SERIES') NOT NULL,
+    content_id   VARCHAR(100) NOT NULL,
+    api_source   ENUM ('IGDB','OPENLIBRARY','TMDB') NOT NULL,
+    review_title VARCHAR(200) NOT NULL,
+    review_text  TEXT NOT NULL,
+    rating       DOUBLE NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    like_count   INTEGER DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id_review),
+    CONSTRAINT uk_reviews_user_content UNIQUE (user_id, content_type, content_id),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id_user)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE INDEX idx_reviews_content ON reviews (content_type, content_id);
+CREATE INDEX idx_reviews_created_at_id ON reviews (created_at, id_review);
+CREATE INDEX idx_reviews_rating_id ON reviews (rating, id_review);
+CREATE INDEX idx_reviews_like_count_id ON reviews (like_count, id_review);
+
+CREATE TABLE review_likes (
+    review_id BIGINT NOT NULL,
+    user_id   BIGINT NOT NULL,
+    PRIMARY KEY (review_id, user_id),
+    CONSTRAINT fk_review_likes_review FOREIGN KEY (review_id) REFERENCES reviews (id_review),
+    CONSTRAINT fk_review_likes_user FOREIGN KEY (user_id) REFERENCES users (id_user)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE content_stats (
+    content_type ENUM ('BOOK','GAME','MOVIE','SERIES') NOT NULL,
+    content_id   VARCHAR(100) NOT NULL,
+    rating_sum   DOUBLE DEFAULT 0 NOT NULL,
+    review_count BIGINT DEFAULT 0 NOT NULL,
+    count_0      BIGINT DEFAULT 0 NOT NULL,
+    count_1      BIGINT DEFAULT 0 NOT NULL,
+    count_2      BIGINT DEFAULT 0 NOT NULL,
+    count_3      BIGINT DEFAULT 0 NOT NULL,
+    count_4      BIGINT DEFAULT 0 NOT NULL,
+    count_5      BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (content_id, content_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE lists (
+    id_list     BIGINT NOT NULL AUTO_INCREMENT,
+    user_id     BIGINT NOT NULL,
+    title       VARCHAR(200) NOT NULL,
+    description TEXT,
+    created_at  DATETIME(6) NOT NULL,
+    updated_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id_list),
+    CONSTRAINT fk_lists_user FOREIGN KEY (user_id) REFERENCES users (id_user)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE list_items (
+    id_list_item BIGINT NOT NULL AUTO_INCREMENT,
+    list_id      BIGINT NOT NULL,
+    content_type ENUM ('BOOK','GAME','MOVIE','SERIES') NOT NULL,
+    content_id   VARCHAR(100) NOT NULL,
+    api_source   ENUM ('IGDB','OPENLIBRARY','TMDB') NOT NULL,
+    position     INTEGER NOT NULL,
+    PRIMARY KEY (id_list_item),
+    CONSTRAINT fk_list_items_list FOREIGN KEY (list_id) REFERENCES lists (id_list)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
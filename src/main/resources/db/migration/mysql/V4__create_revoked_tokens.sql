@@ -0,0 +1,8 @@
+-- Lista de jti revocados (logout y rotación de refresh tokens); expires_at en segundos epoch
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(64) NOT NULL,
+    expires_at BIGINT NOT NULL,
+    PRIMARY KEY (jti)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,3 @@
+-- Posiciones dispersas: las posiciones densas (0, 1, 2...) pasan a múltiplos de 1024 para poder insertar y mover
+-- elementos entre dos vecinos escribiendo solo su fila
+UPDATE list_items SET position = position * 1024;
@@ -0,0 +1,3 @@
+-- Lectura de los elementos de una lista en orden de posición (páginas de GET /lists/{id}/items, vecinos al mover,
+-- última posición al añadir): rango sobre el índice en lugar de recorrer y ordenar todos los elementos
+CREATE INDEX idx_list_items_list_position ON list_items (list_id, position, id_list_item);
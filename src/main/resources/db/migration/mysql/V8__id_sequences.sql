@@ -0,0 +1,19 @@
+-- Ids en bloques de 50 (optimizador pooled-lo) para que Hibernate pueda agrupar los INSERT en lotes JDBC; con
+-- AUTO_INCREMENT necesita el id de cada fila antes de seguir. MySQL no tiene secuencias: Hibernate las emula con
+-- una tabla de una fila (next_val) que arranca tras el id más alto. Las columnas conservan AUTO_INCREMENT, pero la
+-- aplicación ya siempre envía el id.
+
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id_user), 0) + 1 FROM users;
+
+CREATE TABLE profiles_seq (next_val BIGINT);
+INSERT INTO profiles_seq (next_val) SELECT COALESCE(MAX(id_profile), 0) + 1 FROM profiles;
+
+CREATE TABLE reviews_seq (next_val BIGINT);
+INSERT INTO reviews_seq (next_val) SELECT COALESCE(MAX(id_review), 0) + 1 FROM reviews;
+
+CREATE TABLE lists_seq (next_val BIGINT);
+INSERT INTO lists_seq (next_val) SELECT COALESCE(MAX(id_list), 0) + 1 FROM lists;
+
+CREATE TABLE list_items_seq (next_val BIGINT);
+INSERT INTO list_items_seq (next_val) SELECT COALESCE(MAX(id_list_item), 0) + 1 FROM list_items;
@@ -1,21 +1,29 @@
 package dev.ivan.reviewverso_back.auth;
 
 import dev.ivan.reviewverso_back.auth.dto.AuthResponseDTO;
+import dev.ivan.reviewverso_back.security.AuthStageTimer;
+import dev.ivan.reviewverso_back.security.PasswordHashingService;
+import dev.ivan.reviewverso_back.security.exceptions.PasswordHashingBusyException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AuthControllerTest {
@@ -23,12 +31,18 @@ class AuthControllerTest {
     private TokenService tokenService;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private PasswordHashingService passwordHashingService;
+    @Spy
+    private AuthStageTimer authStageTimer = AuthStageTimer.noop();
     @InjectMocks
     private AuthController authController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(passwordHashingService.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(0), Runnable::run));
     }
 
     @Test
@@ -38,11 +52,15 @@ class AuthControllerTest {
         Authentication authentication = mock(Authentication.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(tokenService.generateToken(authentication)).thenReturn("jwt.token");
+        when(tokenService.generateRefreshToken(authentication)).thenReturn("refresh.token");
 
-        ResponseEntity<?> response = authController.login(loginRequest);
+        ResponseEntity<?> response = authController.login(loginRequest).join();
     assertThat(response.getStatusCode().value(), is(200));
         assertThat(response.getBody(), instanceOf(AuthResponseDTO.class));
         assertThat(((AuthResponseDTO) response.getBody()).token(), is("jwt.token"));
+        assertThat(((AuthResponseDTO) response.getBody()).refreshToken(), is("refresh.token"));
+        verify(authStageTimer).record(eq(AuthStageTimer.Stage.AUTHENTICATE), any());
+        verify(authStageTimer).record(eq(AuthStageTimer.Stage.SIGN), any());
     }
 
     @Test
@@ -52,17 +70,53 @@ class AuthControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new AuthenticationException("Bad credentials") {});
 
-        ResponseEntity<?> response = authController.login(loginRequest);
+        ResponseEntity<?> response = authController.login(loginRequest).join();
     assertThat(response.getStatusCode().value(), is(401));
         assertThat(response.getBody(), instanceOf(String.class));
         assertThat(((String) response.getBody()), containsString("Credenciales inválidas"));
     }
 
+    @Test
+    @DisplayName("login propaga el rechazo del pool de hashing sin autenticar")
+    void login_hashingPoolBusy() {
+        AuthController.LoginRequest loginRequest = new AuthController.LoginRequest("user", "pass");
+        doThrow(new PasswordHashingBusyException("ocupado", null)).when(passwordHashingService).submit(any());
+
+        org.junit.jupiter.api.Assertions.assertThrows(PasswordHashingBusyException.class,
+                () -> authController.login(loginRequest));
+        verifyNoInteractions(authenticationManager);
+    }
+
     @Test
     @DisplayName("logout devuelve mensaje de éxito")
     void logout_success() {
-        ResponseEntity<?> response = authController.logout();
+        ResponseEntity<?> response = authController.logout(null, null);
     assertThat(response.getStatusCode().value(), is(200));
         assertThat(response.getBody(), is("Sesión cerrada con éxito"));
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    @DisplayName("logout revoca el access token de la cabecera y el refresh token del cuerpo")
+    void logout_revokesTokens() {
+        ResponseEntity<?> response = authController.logout("Bearer access.token",
+                new AuthController.RefreshRequest("refresh.token"));
+
+        assertThat(response.getStatusCode().value(), is(200));
+        verify(tokenService).revoke("access.token");
+        verify(tokenService).revoke("refresh.token");
+    }
+
+    @Test
+    @DisplayName("refresh devuelve los tokens nuevos")
+    void refresh_returnsNewTokens() {
+        AuthResponseDTO tokens = new AuthResponseDTO("nuevo.token", "nuevo.refresh");
+        when(tokenService.refresh("refresh.token")).thenReturn(tokens);
+
+        ResponseEntity<AuthResponseDTO> response = authController.refresh(new AuthController.RefreshRequest("refresh.token"));
+
+        assertThat(response.getStatusCode().value(), is(200));
+        assertThat(response.getBody(), is(tokens));
+        verifyNoInteractions(authenticationManager, passwordHashingService);
     }
 }
@@ -0,0 +1,35 @@
+package dev.ivan.reviewverso_back.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TokenRevocationStoreIntegrationTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    @DisplayName("Dos instancias que comparten la tabla: solo la primera revoca el jti y la segunda lo ve revocado")
+    void revoke_sameJtiThroughTwoInstances() {
+        TokenRevocationStore first = new TokenRevocationStore(revokedTokenRepository, true, Clock.systemUTC());
+        TokenRevocationStore second = new TokenRevocationStore(revokedTokenRepository, true, Clock.systemUTC());
+        Instant exp = Instant.now().plus(Duration.ofMinutes(30));
+
+        assertThat(first.revoke("jti-compartido", exp), is(true));
+        assertThat(second.revoke("jti-compartido", exp), is(false));
+        assertThat(second.isRevoked("jti-compartido", exp), is(true));
+        assertThat(revokedTokenRepository.count(), is(1L));
+    }
+}
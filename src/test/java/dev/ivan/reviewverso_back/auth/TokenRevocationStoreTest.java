@@ -0,0 +1,129 @@
+package dev.ivan.reviewverso_back.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-10T12:30:00Z");
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("revoke marca el jti como revocado y un segundo revoke devuelve false")
+    void revoke_isIdempotent() {
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, false, clock);
+        Instant exp = NOW.plus(Duration.ofMinutes(30));
+
+        assertThat(store.revoke("jti-1", exp), is(true));
+        assertThat(store.revoke("jti-1", exp), is(false));
+        assertThat(store.isRevoked("jti-1", exp), is(true));
+        assertThat(store.isRevoked("jti-2", exp), is(false));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Los tokens sin jti o ya caducados no se guardan")
+    void revoke_ignoresExpiredOrAnonymousTokens() {
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, false, clock);
+
+        assertThat(store.revoke(null, NOW.plusSeconds(60)), is(false));
+        assertThat(store.revoke("jti-1", NOW.minusSeconds(1)), is(false));
+        assertThat(store.size(), is(0));
+    }
+
+    @Test
+    @DisplayName("purgeExpired elimina los cubos de horas pasadas y conserva los vigentes")
+    void purgeExpired_dropsPastBuckets() {
+        MutableClock mutableClock = new MutableClock(NOW);
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, false, mutableClock);
+        store.revoke("corto", NOW.plus(Duration.ofMinutes(10)));
+        store.revoke("largo", NOW.plus(Duration.ofHours(5)));
+
+        mutableClock.now = NOW.plus(Duration.ofHours(2));
+        store.purgeExpired();
+
+        assertThat(store.size(), is(1));
+        assertThat(store.isRevoked("largo", NOW.plus(Duration.ofHours(5))), is(true));
+    }
+
+    @Test
+    @DisplayName("Con persistencia, revoke guarda el jti y una clave duplicada cuenta como ya revocado")
+    void revoke_persistsAndDetectsConcurrentRevocation() {
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, true, clock);
+        when(revokedTokenRepository.insertRevoked(any(), any()))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        assertThat(store.revoke("jti-1", NOW.plusSeconds(60)), is(true));
+        assertThat(store.revoke("jti-2", NOW.plusSeconds(60)), is(false));
+        assertThat(store.isRevoked("jti-2", NOW.plusSeconds(60)), is(true));
+        verify(revokedTokenRepository, times(2)).insertRevoked(any(), any());
+    }
+
+    @Test
+    @DisplayName("Si la escritura en base de datos falla el jti no queda marcado en memoria")
+    void revoke_failedWriteLeavesMemoryUntouched() {
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, true, clock);
+        when(revokedTokenRepository.insertRevoked(any(), any()))
+                .thenThrow(new QueryTimeoutException("base de datos caída"));
+
+        assertThrows(QueryTimeoutException.class, () -> store.revoke("jti-1", NOW.plusSeconds(60)));
+        assertThat(store.isRevoked("jti-1", NOW.plusSeconds(60)), is(false));
+        assertThat(store.size(), is(0));
+    }
+
+    @Test
+    @DisplayName("loadPersisted recarga las revocaciones vigentes y purgeExpired borra las caducadas")
+    void loadPersisted_andPurge_useRepository() {
+        TokenRevocationStore store = new TokenRevocationStore(revokedTokenRepository, true, clock);
+        Instant exp = NOW.plus(Duration.ofHours(1));
+        when(revokedTokenRepository.findAllByExpiresAtGreaterThan(NOW.getEpochSecond()))
+                .thenReturn(List.of(new RevokedTokenEntity("jti-1", exp.getEpochSecond())));
+
+        store.loadPersisted();
+        store.purgeExpired();
+
+        assertThat(store.isRevoked("jti-1", exp), is(true));
+        verify(revokedTokenRepository).deleteExpired(NOW.getEpochSecond());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.ivan.reviewverso_back.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationValidatorTest {
+
+    private final TokenRevocationStore tokenRevocationStore = mock(TokenRevocationStore.class);
+    private final TokenRevocationValidator validator = new TokenRevocationValidator(tokenRevocationStore);
+
+    @Test
+    @DisplayName("Acepta un access token vigente")
+    void validate_acceptsAccessToken() {
+        assertThat(validator.validate(jwt(TokenService.ACCESS_TOKEN_TYPE)).hasErrors(), is(false));
+    }
+
+    @Test
+    @DisplayName("Rechaza un refresh token usado como bearer")
+    void validate_rejectsRefreshToken() {
+        assertThat(validator.validate(jwt(TokenService.REFRESH_TOKEN_TYPE)).hasErrors(), is(true));
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    @Test
+    @DisplayName("Rechaza un jti revocado")
+    void validate_rejectsRevokedToken() {
+        Jwt jwt = jwt(TokenService.ACCESS_TOKEN_TYPE);
+        when(tokenRevocationStore.isRevoked("jti-1", jwt.getExpiresAt())).thenReturn(true);
+
+        assertThat(validator.validate(jwt).getErrors().iterator().next().getDescription(), is("Token revocado"));
+    }
+
+    private static Jwt jwt(String tokenType) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("usuario")
+                .jti("jti-1")
+                .claim(TokenService.TOKEN_TYPE_CLAIM, tokenType)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+    }
+}
@@ -1,11 +1,19 @@
 package dev.ivan.reviewverso_back.auth;
 
+import dev.ivan.reviewverso_back.auth.dto.AuthResponseDTO;
+import dev.ivan.reviewverso_back.auth.exceptions.InvalidRefreshTokenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 
@@ -15,19 +23,27 @@ import java.util.Collection;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class TokenServiceTest {
     private JwtEncoder jwtEncoder;
     private JwtDecoder jwtDecoder;
+    private JwtDecoder uncachedJwtDecoder;
+    private TokenRevocationStore tokenRevocationStore;
+    private UserDetailsService userDetailsService;
     private TokenService tokenService;
 
     @BeforeEach
     void setUp() {
         jwtEncoder = mock(JwtEncoder.class);
         jwtDecoder = mock(JwtDecoder.class);
-        tokenService = new TokenService(jwtEncoder, jwtDecoder);
+        uncachedJwtDecoder = mock(JwtDecoder.class);
+        tokenRevocationStore = mock(TokenRevocationStore.class);
+        userDetailsService = mock(UserDetailsService.class);
+        tokenService = new TokenService(jwtEncoder, jwtDecoder, uncachedJwtDecoder, tokenRevocationStore,
+                userDetailsService, 60, 14);
     }
 
     @Test
@@ -47,6 +63,97 @@ class TokenServiceTest {
 
     String token = tokenService.generateToken(authentication);
     assertThat(token, is("mocked.jwt.token"));
+    ArgumentCaptor<JwtEncoderParameters> captor = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+    verify(jwtEncoder).encode(captor.capture());
+    JwtClaimsSet claims = captor.getValue().getClaims();
+    assertThat(claims.getClaims().get(TokenService.TOKEN_TYPE_CLAIM), is(TokenService.ACCESS_TOKEN_TYPE));
+    assertThat(claims.getId(), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("generateRefreshToken emite un token de tipo refresh sin roles")
+    void generateRefreshToken_hasRefreshTypeAndNoScope() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new FakeSecurityUser(42L, "test@example.com"));
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getTokenValue()).thenReturn("refresh.token");
+        when(jwtEncoder.encode(any())).thenReturn(jwt);
+
+        assertThat(tokenService.generateRefreshToken(authentication), is("refresh.token"));
+
+        ArgumentCaptor<JwtEncoderParameters> captor = ArgumentCaptor.forClass(JwtEncoderParameters.class);
+        verify(jwtEncoder).encode(captor.capture());
+        JwtClaimsSet claims = captor.getValue().getClaims();
+        assertThat(claims.getClaims().get(TokenService.TOKEN_TYPE_CLAIM), is(TokenService.REFRESH_TOKEN_TYPE));
+        assertThat(claims.getClaims().containsKey("scope"), is(false));
+        assertThat(claims.getClaims().get("userId"), is(42L));
+    }
+
+    @Test
+    @DisplayName("refresh rota el refresh token y emite tokens nuevos sin comprobar la contraseña")
+    void refresh_rotatesToken() {
+        Jwt refresh = refreshJwt(TokenService.REFRESH_TOKEN_TYPE);
+        when(uncachedJwtDecoder.decode("refresh.token")).thenReturn(refresh);
+        when(tokenRevocationStore.revoke("jti-1", refresh.getExpiresAt())).thenReturn(true);
+        UserDetails user = User.withUsername("testuser").password("hash").authorities("ROLE_USER").build();
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+        Jwt encoded = mock(Jwt.class);
+        when(encoded.getTokenValue()).thenReturn("nuevo.token");
+        when(jwtEncoder.encode(any())).thenReturn(encoded);
+
+        AuthResponseDTO response = tokenService.refresh("refresh.token");
+
+        assertThat(response.token(), is("nuevo.token"));
+        assertThat(response.refreshToken(), is("nuevo.token"));
+        verify(tokenRevocationStore).revoke("jti-1", refresh.getExpiresAt());
+        verify(jwtEncoder, times(2)).encode(any());
+    }
+
+    @Test
+    @DisplayName("refresh rechaza un refresh token ya usado")
+    void refresh_rejectsReusedToken() {
+        Jwt refresh = refreshJwt(TokenService.REFRESH_TOKEN_TYPE);
+        when(uncachedJwtDecoder.decode("refresh.token")).thenReturn(refresh);
+        when(tokenRevocationStore.revoke("jti-1", refresh.getExpiresAt())).thenReturn(false);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> tokenService.refresh("refresh.token"));
+        verifyNoInteractions(userDetailsService, jwtEncoder);
+    }
+
+    @Test
+    @DisplayName("refresh rechaza access tokens y tokens inválidos")
+    void refresh_rejectsAccessAndInvalidTokens() {
+        when(uncachedJwtDecoder.decode("access.token")).thenReturn(refreshJwt(TokenService.ACCESS_TOKEN_TYPE));
+        when(uncachedJwtDecoder.decode("bad")).thenThrow(new org.springframework.security.oauth2.jwt.BadJwtException("bad"));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> tokenService.refresh("access.token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> tokenService.refresh("bad"));
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    @Test
+    @DisplayName("revoke revoca el jti hasta el exp e ignora tokens inválidos")
+    void revoke_revokesJti() {
+        Jwt access = refreshJwt(TokenService.ACCESS_TOKEN_TYPE);
+        when(uncachedJwtDecoder.decode("access.token")).thenReturn(access);
+        when(tokenRevocationStore.revoke("jti-1", access.getExpiresAt())).thenReturn(true);
+        when(uncachedJwtDecoder.decode("bad")).thenThrow(new org.springframework.security.oauth2.jwt.BadJwtException("bad"));
+
+        assertThat(tokenService.revoke("access.token"), is(true));
+        assertThat(tokenService.revoke("bad"), is(false));
+    }
+
+    private static Jwt refreshJwt(String tokenType) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue("refresh.token")
+                .header("alg", "HS512")
+                .subject("testuser")
+                .jti("jti-1")
+                .claim(TokenService.TOKEN_TYPE_CLAIM, tokenType)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
     }
 
     @Test
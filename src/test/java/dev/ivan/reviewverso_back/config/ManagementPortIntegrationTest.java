@@ -0,0 +1,44 @@
+package dev.ivan.reviewverso_back.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Con management.server.port propio, /actuator solo se sirve en ese puerto (ligado a 127.0.0.1)
+ * y el puerto público no lo expone.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"management.server.port=0", "management.server.address=127.0.0.1"})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortIntegrationTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("/actuator/prometheus responde en el puerto de gestión local y no en el público")
+    void prometheusOnlyOnManagementPort() {
+        assertThat(restTemplate.getForEntity("http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class)
+                .getStatusCode(), is(HttpStatus.OK));
+        assertThat(restTemplate.getForEntity("http://127.0.0.1:" + serverPort + "/actuator/prometheus", String.class)
+                .getStatusCode().is2xxSuccessful(), is(false));
+    }
+}
@@ -0,0 +1,64 @@
+package dev.ivan.reviewverso_back.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("/actuator/prometheus es público y expone latencias HTTP, Hibernate, Hikari, cachés y etapas del login")
+    void prometheusEndpointExposesMetrics() throws Exception {
+        mockMvc.perform(get("/api/v1/reviews"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/reviews\"")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache=\"contentStats\"")))
+                .andExpect(content().string(containsString("auth_stage_seconds_bucket")));
+    }
+
+    @Test
+    @DisplayName("/actuator/health es público y el resto de endpoints de actuator requieren rol ADMIN")
+    void actuatorAccess() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(user("usuario").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/caches").with(user("usuario").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("El endpoint caches no se expone ni siquiera a ADMIN")
+    void cachesEndpointIsNotExposed() throws Exception {
+        mockMvc.perform(delete("/actuator/caches").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+}
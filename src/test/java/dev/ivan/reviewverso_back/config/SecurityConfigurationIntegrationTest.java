@@ -1,15 +1,24 @@
 package dev.ivan.reviewverso_back.config;
 
+import dev.ivan.reviewverso_back.auth.TokenService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -21,6 +30,9 @@ class SecurityConfigurationIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TokenService tokenService;
+
     private ResultMatcher statusIsOneOf(int... allowed) {
         return mvcResult -> {
             int status = mvcResult.getResponse().getStatus();
@@ -77,4 +89,69 @@ class SecurityConfigurationIntegrationTest {
         mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(statusIsOneOf(200, 400));
     }
+
+    @Test
+    @DisplayName("Un access token revocado deja de servir aunque el decoder lo tenga en caché")
+    void revokedAccessTokenIsRejected() throws Exception {
+        String token = tokenService.generateToken(userAuthentication());
+
+        mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(statusIsOneOf(200, 400));
+
+        tokenService.revoke(token);
+
+        mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Un refresh token no sirve como bearer y /auth/refresh rechaza tokens inválidos")
+    void refreshTokenIsNotABearerToken() throws Exception {
+        String refreshToken = tokenService.generateRefreshToken(userAuthentication());
+
+        mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"no-es-un-token\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Un token aún válido de un usuario borrado recibe 404 en las escrituras, no un 500")
+    void deletedUserTokenGetsNotFound() throws Exception {
+        RequestPostProcessor deletedUser = jwt()
+                .jwt(token -> token.subject("borrado").claim("userId", 999_999L))
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"));
+
+        mockMvc.perform(post("/api/v1/reviews").with(deletedUser).contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"contentType": "MOVIE", "contentId": "550", "apiSource": "TMDB",
+                                 "reviewTitle": "Título", "reviewText": "Texto de la reseña", "rating": 4.0}"""))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/lists").with(deletedUser).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Lista\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/reviews/1/like").with(deletedUser))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("El preflight CORS admite PATCH para mover elementos de una lista")
+    void corsPreflightAllowsPatch() throws Exception {
+        mockMvc.perform(options("/api/v1/lists/1/items/1")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:5173")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:5173"))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS,
+                        containsString("PATCH")));
+    }
+
+    private static Authentication userAuthentication() {
+        return UsernamePasswordAuthenticationToken.authenticated("user", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
 }
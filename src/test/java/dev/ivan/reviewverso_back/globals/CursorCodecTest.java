@@ -0,0 +1,43 @@
+package dev.ivan.reviewverso_back.globals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("encode y decode son simétricos y el cursor es opaco")
+    void encodeDecode_roundTrip() {
+        String cursor = CursorCodec.encode("NEWEST", "2025-01-10T12:00", "42");
+
+        assertThat(cursor, not(containsString("NEWEST")));
+        assertThat(CursorCodec.decode(cursor, 3), arrayContaining("NEWEST", "2025-01-10T12:00", "42"));
+    }
+
+    @Test
+    @DisplayName("decode rechaza cursores mal formados o con un número de partes distinto")
+    void decode_rejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode("%%%", 3));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.decode(CursorCodec.encode("a", "b"), 3));
+    }
+
+    @Test
+    @DisplayName("parse convierte cualquier fallo en IllegalArgumentException")
+    void parse_wrapsFailures() {
+        assertThat(CursorCodec.parse("7", Long::valueOf), is(7L));
+        assertThrows(IllegalArgumentException.class,
+            () -> CursorCodec.parse("x", java.time.LocalDateTime::parse));
+    }
+
+    @Test
+    @DisplayName("normalizeLimit limita al máximo y rechaza valores no positivos")
+    void normalizeLimit_bounds() {
+        assertThat(CursorCodec.normalizeLimit(5), is(5));
+        assertThat(CursorCodec.normalizeLimit(1000), is(CursorCodec.MAX_PAGE_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> CursorCodec.normalizeLimit(0));
+    }
+}
@@ -1,11 +1,14 @@
 package dev.ivan.reviewverso_back.globals;
 
+import dev.ivan.reviewverso_back.auth.exceptions.InvalidRefreshTokenException;
+import dev.ivan.reviewverso_back.lists.exceptions.ListItemNotFoundException;
 import dev.ivan.reviewverso_back.register.exceptions.RegisterIllegalArgumentException;
 import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import dev.ivan.reviewverso_back.user.exceptions.UserAccessDeniedException;
 import dev.ivan.reviewverso_back.user.exceptions.UserIllegalArgumentException;
 import dev.ivan.reviewverso_back.reviews.exceptions.ReviewNotFoundException;
 import dev.ivan.reviewverso_back.reviews.exceptions.DuplicateReviewException;
+import dev.ivan.reviewverso_back.security.exceptions.PasswordHashingBusyException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -65,6 +68,31 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().message(), is("dup"));
     }
 
+    @Test
+    @DisplayName("ListItemNotFoundException retorna 404")
+    void handleListItemNotFound() {
+        ResponseEntity<GlobalExceptionResponseDTO> response = handler.handleListItemNotFound(new ListItemNotFoundException("no está"));
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody().message(), is("no está"));
+    }
+
+    @Test
+    @DisplayName("InvalidRefreshTokenException retorna 401")
+    void handleInvalidRefreshToken() {
+        ResponseEntity<GlobalExceptionResponseDTO> response = handler.handleInvalidRefreshToken(new InvalidRefreshTokenException("usado"));
+        assertThat(response.getStatusCode(), is(HttpStatus.UNAUTHORIZED));
+        assertThat(response.getBody().message(), is("usado"));
+    }
+
+    @Test
+    @DisplayName("PasswordHashingBusyException retorna 503 con Retry-After")
+    void handlePasswordHashingBusy() {
+        ResponseEntity<GlobalExceptionResponseDTO> response = handler.handlePasswordHashingBusy(new PasswordHashingBusyException("busy", null));
+        assertThat(response.getStatusCode(), is(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(response.getHeaders().getFirst("Retry-After"), is("1"));
+        assertThat(response.getBody().message(), is("busy"));
+    }
+
     @Test
     @DisplayName("IllegalArgumentException retorna 400")
     void handleIllegalArgument() {
@@ -0,0 +1,68 @@
+package dev.ivan.reviewverso_back.globals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("add y contains funcionan con duplicados, cero y negativos")
+    void addAndContains() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThat(set.add(5L), is(true));
+        assertThat(set.add(5L), is(false));
+        assertThat(set.add(0L), is(true));
+        assertThat(set.add(-3L), is(true));
+
+        assertThat(set.contains(5L), is(true));
+        assertThat(set.contains(0L), is(true));
+        assertThat(set.contains(-3L), is(true));
+        assertThat(set.contains(6L), is(false));
+        assertThat(set.size(), is(3));
+    }
+
+    @Test
+    @DisplayName("El conjunto crece más allá de la capacidad inicial sin perder elementos")
+    void growsBeyondInitialCapacity() {
+        LongHashSet set = new LongHashSet(1);
+        for (long id = 1; id <= 1000; id++) {
+            set.add(id * 64);
+        }
+
+        assertThat(set.size(), is(1000));
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(set.contains(id * 64), is(true));
+        }
+        assertThat(set.contains(63L), is(false));
+    }
+
+    @Test
+    @DisplayName("of ignora nulos y un conjunto vacío no contiene nada")
+    void ofAndEmpty() {
+        LongHashSet set = LongHashSet.of(Arrays.asList(1L, null, 2L));
+        assertThat(set.size(), is(2));
+
+        LongHashSet empty = LongHashSet.of(List.of());
+        assertThat(empty.isEmpty(), is(true));
+        assertThat(empty.contains(0L), is(false));
+    }
+
+    @Test
+    @DisplayName("empty es compartido y no admite añadir")
+    void empty_isReadOnly() {
+        LongHashSet empty = LongHashSet.empty();
+
+        assertThat(empty, is(sameInstance(LongHashSet.empty())));
+        assertThat(empty.contains(1L), is(false));
+        assertThrows(UnsupportedOperationException.class, () -> empty.add(1L));
+        assertThat(empty.isEmpty(), is(true));
+    }
+}
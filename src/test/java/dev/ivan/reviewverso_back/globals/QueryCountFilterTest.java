@@ -0,0 +1,84 @@
+package dev.ivan.reviewverso_back.globals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class QueryCountFilterTest {
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("El inspector solo cuenta entre start y stop y no modifica el SQL")
+    void inspector_countsOnlyWhileActive() {
+        assertThat(inspector.inspect("select 1"), is("select 1"));
+        assertThat(inspector.current(), is(-1));
+
+        inspector.start();
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+
+        assertThat(inspector.stop(), is(2));
+        assertThat(inspector.current(), is(-1));
+    }
+
+    @Test
+    @DisplayName("La cabecera lleva las sentencias ejecutadas antes de escribir el cuerpo")
+    void filter_writesHeaderBeforeBody() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            inspector.inspect("select * from lists");
+            inspector.inspect("select * from users");
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            inspector.inspect("select tarde");
+        };
+
+        filter(true).doFilter(request, response, chain);
+
+        assertThat(response.getHeader(QueryCountFilter.HEADER), is("2"));
+        assertThat(registry.get(QueryCountFilter.METRIC_NAME).tag("uri", "/api/v1/lists")
+                .summary().totalAmount(), is(3.0));
+    }
+
+    @Test
+    @DisplayName("Sin cuerpo la cabecera se añade al terminar la petición")
+    void filter_writesHeaderWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(true).doFilter(request(), response, (req, res) -> inspector.inspect("delete from lists"));
+
+        assertThat(response.getHeader(QueryCountFilter.HEADER), is("1"));
+    }
+
+    @Test
+    @DisplayName("Con la cabecera desactivada solo se publica la métrica")
+    void filter_headerDisabled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(request(), response, (req, res) -> inspector.inspect("select 1"));
+
+        assertThat(response.getHeader(QueryCountFilter.HEADER), is(nullValue()));
+        assertThat(registry.get(QueryCountFilter.METRIC_NAME).summary().count(), is(1L));
+        assertThat(inspector.current(), is(-1));
+    }
+
+    private QueryCountFilter filter(boolean headerEnabled) {
+        return new QueryCountFilter(inspector, headerEnabled, 1, registry);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/lists");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/lists");
+        return request;
+    }
+}
@@ -0,0 +1,255 @@
+package dev.ivan.reviewverso_back.globals;
+
+import dev.ivan.reviewverso_back.lists.ListEntity;
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.ListRepository;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
+import dev.ivan.reviewverso_back.reviews.ReviewEntity;
+import dev.ivan.reviewverso_back.reviews.ReviewRepository;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.ivan.reviewverso_back.globals.QueryCountMatchers.queryCountAtMost;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL de los endpoints públicos de lectura con varios usuarios, listas y reseñas,
+ * y de la edición de elementos de una lista. Si un mapper empieza a disparar cargas lazy por fila o una
+ * edición vuelve a reescribir la lista entera, el recuento crece con los datos y el test falla.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountIntegrationTest {
+
+    private static final int USERS = 4;
+    // Lista, elementos, los UPDATE de los movidos en un lote y el autor para la respuesta
+    private static final int UPDATE_BUDGET = 4;
+    private static final int BULK_ITEMS = 200;
+    // Autor, id de la lista, INSERT de la lista, INSERT en lote de los elementos y un bloque de ids por cada 50
+    private static final int BULK_BUDGET = 4 + BULK_ITEMS / 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final List<UserEntity> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = userRepository.save(UserEntity.builder()
+                    .userName("qc-user-" + i)
+                    .email("qc-user-" + i + "@example.com")
+                    .password("pass")
+                    .build());
+            users.add(user);
+
+            ListEntity list = ListEntity.builder().user(user).title("Lista " + i).build();
+            for (int j = 0; j < 3; j++) {
+                list.addItem(ListItemEntity.builder()
+                        .contentType(ContentType.MOVIE)
+                        .contentId("QC" + i + "-" + j)
+                        .apiSource(ApiSource.TMDB)
+                        .build());
+            }
+            listRepository.save(list);
+
+            reviewRepository.save(ReviewEntity.builder()
+                    .user(user)
+                    .contentType(ContentType.MOVIE)
+                    .contentId("QC" + i)
+                    .apiSource(ApiSource.TMDB)
+                    .reviewTitle("Reseña " + i)
+                    .reviewText("Texto " + i)
+                    .rating(4.0)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UserEntity user : users) {
+            reviewRepository.deleteAll(reviewRepository.findAll().stream()
+                    .filter(review -> review.getUser().getIdUser().equals(user.getIdUser())).toList());
+            listRepository.deleteAll(listRepository.findAll().stream()
+                    .filter(list -> list.getUser().getIdUser().equals(user.getIdUser())).toList());
+        }
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    @Test
+    @DisplayName("GET /reviews no depende del número de reseñas")
+    void reviewsFeed() throws Exception {
+        mockMvc.perform(get("/api/v1/reviews"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(4));
+    }
+
+    @Test
+    @DisplayName("GET /lists/{id} carga la lista y sus elementos en dos consultas")
+    void listById() throws Exception {
+        Long listId = listRepository.findAll().stream()
+                .filter(list -> list.getTitle().equals("Lista 0"))
+                .findFirst().orElseThrow().getIdList();
+
+        mockMvc.perform(get("/api/v1/lists/" + listId))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /lists/{id}/items lee una página de elementos en una consulta y el resumen en tres")
+    void listItemsPageAndSummary() throws Exception {
+        Long listId = listOf(users.get(2)).getIdList();
+
+        mockMvc.perform(get("/api/v1/lists/" + listId + "/items").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        mockMvc.perform(get("/api/v1/lists/" + listId).param("itemsLimit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(3));
+    }
+
+    @Test
+    @DisplayName("GET /lists/user/{userId} no hace una consulta por lista")
+    void listsByUser() throws Exception {
+        mockMvc.perform(get("/api/v1/lists/user/" + users.get(0).getIdUser()))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /lists/user/{userId} con itemsLimit recorta los elementos pero informa del total")
+    void listsByUserTruncatesItems() throws Exception {
+        mockMvc.perform(get("/api/v1/lists/user/" + users.get(0).getIdUser()).param("itemsLimit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].items[1].contentId").value("QC0-1"))
+                .andExpect(jsonPath("$.items[0].itemCount").value(3))
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    @DisplayName("GET /lists carga la página en dos consultas sin importar el número de listas")
+    void allLists() throws Exception {
+        // Listas con su usuario + primeros elementos de todas las listas de la página
+        mockMvc.perform(get("/api/v1/lists"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    @DisplayName("PUT /lists/{id} reordenando elementos conserva sus filas en vez de borrarlas y reinsertarlas")
+    void updateListReordersInPlace() throws Exception {
+        ListEntity list = listOf(users.get(0));
+        List<Long> itemIds = itemIds(list.getIdList());
+        String body = """
+                {"items": [
+                  {"contentType": "MOVIE", "contentId": "QC0-2", "apiSource": "TMDB"},
+                  {"contentType": "MOVIE", "contentId": "QC0-1", "apiSource": "TMDB"},
+                  {"contentType": "MOVIE", "contentId": "QC0-0", "apiSource": "TMDB"}
+                ]}""";
+
+        mockMvc.perform(put("/api/v1/lists/" + list.getIdList()).with(asUser(users.get(0)))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(UPDATE_BUDGET));
+
+        assertThat(itemIds(list.getIdList()), contains(itemIds.get(2), itemIds.get(1), itemIds.get(0)));
+    }
+
+    @Test
+    @DisplayName("POST /lists con 200 elementos los inserta en lotes en vez de una sentencia por fila")
+    void createLargeListBatchesInserts() throws Exception {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < BULK_ITEMS; i++) {
+            items.append(i == 0 ? "" : ",")
+                    .append("{\"contentType\": \"MOVIE\", \"contentId\": \"BULK").append(i)
+                    .append("\", \"apiSource\": \"TMDB\"}");
+        }
+
+        mockMvc.perform(post("/api/v1/lists").with(asUser(users.get(3))).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Grande\", \"items\": [" + items + "]}"))
+                .andExpect(status().isCreated())
+                .andExpect(queryCountAtMost(BULK_BUDGET));
+    }
+
+    @Test
+    @DisplayName("Añadir, mover y quitar un elemento cuesta un número fijo de sentencias y escribe una sola fila")
+    void itemEndpointsUseConstantStatements() throws Exception {
+        ListEntity list = listOf(users.get(1));
+        List<Long> itemIds = itemIds(list.getIdList());
+        Integer untouchedPosition = positionOf(list.getIdList(), itemIds.get(1));
+        String base = "/api/v1/lists/" + list.getIdList() + "/items";
+
+        mockMvc.perform(post(base).with(asUser(users.get(1))).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"contentType\": \"BOOK\", \"contentId\": \"OL1\", \"apiSource\": \"OPENLIBRARY\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(queryCountAtMost(3));
+        mockMvc.perform(patch(base + "/" + itemIds.get(2)).with(asUser(users.get(1)))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"position\": 0}"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(5));
+        mockMvc.perform(delete(base + "/" + itemIds.get(0)).with(asUser(users.get(1))))
+                .andExpect(status().isNoContent())
+                .andExpect(queryCountAtMost(3));
+
+        List<Long> after = itemIds(list.getIdList());
+        assertThat(after.subList(0, 2), contains(itemIds.get(2), itemIds.get(1)));
+        assertThat(positionOf(list.getIdList(), itemIds.get(1)), is(untouchedPosition));
+    }
+
+    private Integer positionOf(Long listId, Long itemId) {
+        return listRepository.findItemRows(List.of(listId)).stream()
+                .filter(item -> item.idListItem().equals(itemId))
+                .findFirst().orElseThrow().position();
+    }
+
+    private ListEntity listOf(UserEntity user) {
+        return listRepository.findAll().stream()
+                .filter(list -> list.getUser().getIdUser().equals(user.getIdUser()))
+                .findFirst().orElseThrow();
+    }
+
+    private List<Long> itemIds(Long listId) {
+        return listRepository.findItemRows(List.of(listId)).stream().map(ListItemRowDTO::idListItem).toList();
+    }
+
+    private static RequestPostProcessor asUser(UserEntity user) {
+        return jwt().jwt(token -> token.subject(user.getUserName()).claim("userId", user.getIdUser()))
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
@@ -0,0 +1,41 @@
+package dev.ivan.reviewverso_back.globals;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Matchers de MockMvc sobre la cabecera X-Query-Count (requiere sql.query-count.header-enabled=true,
+ * activado en el perfil test). Sirven para fijar un presupuesto de sentencias SQL por endpoint.
+ */
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher queryCountAtMost(int max) {
+        return result -> {
+            int count = queryCount(result.getResponse().getHeader(QueryCountFilter.HEADER));
+            if (count > max) {
+                throw new AssertionError(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                        + " ejecutó " + count + " sentencias SQL, máximo permitido " + max);
+            }
+        };
+    }
+
+    public static ResultMatcher queryCountIs(int expected) {
+        return result -> {
+            int count = queryCount(result.getResponse().getHeader(QueryCountFilter.HEADER));
+            if (count != expected) {
+                throw new AssertionError(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                        + " ejecutó " + count + " sentencias SQL, se esperaban " + expected);
+            }
+        };
+    }
+
+    private static int queryCount(String header) {
+        if (header == null) {
+            throw new AssertionError("La respuesta no tiene cabecera " + QueryCountFilter.HEADER
+                    + "; ¿está activado sql.query-count.header-enabled?");
+        }
+        return Integer.parseInt(header);
+    }
+}
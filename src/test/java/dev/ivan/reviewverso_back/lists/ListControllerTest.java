@@ -1,6 +1,7 @@
 package dev.ivan.reviewverso_back.lists;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.lists.dtos.*;
 import dev.ivan.reviewverso_back.lists.service.ListService;
 import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
@@ -21,6 +22,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -57,6 +59,7 @@ class ListControllerTest {
                 "Mi Lista de Películas",
                 "Mis películas favoritas de todos los tiempos",
                 List.of(itemResponseDTO),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -92,6 +95,7 @@ class ListControllerTest {
                 "Películas Acción",
                 "Mis películas de acción favoritas",
                 List.of(item1),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -101,22 +105,25 @@ class ListControllerTest {
                 "Series para ver",
                 "Series pendientes",
                 List.of(item2),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
 
-        when(listService.getEntities()).thenReturn(List.of(list1, list2));
+        when(listService.getListsPage(null, 20, ListService.DEFAULT_FEED_ITEMS)).thenReturn(new CursorPageDTO<>(List.of(list1, list2), "siguiente", true));
 
         mockMvc.perform(get("/api/v1/lists"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].idList", is(1)))
-                .andExpect(jsonPath("$[0].title", is("Películas Acción")))
-                .andExpect(jsonPath("$[0].items", hasSize(1)))
-                .andExpect(jsonPath("$[1].idList", is(2)))
-                .andExpect(jsonPath("$[1].title", is("Series para ver")));
-
-        verify(listService, times(1)).getEntities();
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].idList", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Películas Acción")))
+                .andExpect(jsonPath("$.items[0].items", hasSize(1)))
+                .andExpect(jsonPath("$.items[1].idList", is(2)))
+                .andExpect(jsonPath("$.items[1].title", is("Series para ver")))
+                .andExpect(jsonPath("$.nextCursor", is("siguiente")))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        verify(listService, times(1)).getListsPage(null, 20, ListService.DEFAULT_FEED_ITEMS);
     }
 
     @Test
@@ -130,6 +137,7 @@ class ListControllerTest {
                 "Juegos Indie",
                 "Mis juegos indie favoritos",
                 List.of(item),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -144,6 +152,45 @@ class ListControllerTest {
                 .andExpect(jsonPath("$.items[0].contentType", is("GAME")));
 
         verify(listService, times(1)).getByID(1L);
+        verify(listService, never()).getSummary(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /lists/{id}?itemsLimit=N retorna el resumen con el total de elementos")
+    void getListById_withItemsLimitReturnsSummary() throws Exception {
+        ListItemResponseDTO item = new ListItemResponseDTO(1L, ContentType.MOVIE, "550", ApiSource.TMDB, 0);
+        ListResponseDTO response = new ListResponseDTO(
+                1L, 1L, "testuser",
+                "Vistas",
+                "Todo lo que he visto",
+                List.of(item),
+                2500L,
+                LocalDateTime.now(),
+                LocalDateTime.now()
+        );
+        when(listService.getSummary(1L, 1)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/lists/1").param("itemsLimit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.itemCount", is(2500)));
+
+        verify(listService, never()).getByID(any());
+    }
+
+    @Test
+    @DisplayName("GET /lists/{id}/items retorna una página de elementos con cursor")
+    void getListItems_returnsCursorPage() throws Exception {
+        ListItemResponseDTO item = new ListItemResponseDTO(7L, ContentType.MOVIE, "550", ApiSource.TMDB, 20);
+        when(listService.getItemsPage(1L, "cursor", 1))
+                .thenReturn(new CursorPageDTO<>(List.of(item), "siguiente", true));
+
+        mockMvc.perform(get("/api/v1/lists/1/items").param("cursor", "cursor").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].idListItem", is(7)))
+                .andExpect(jsonPath("$.items[0].position", is(20)))
+                .andExpect(jsonPath("$.nextCursor", is("siguiente")))
+                .andExpect(jsonPath("$.hasNext", is(true)));
     }
 
     @Test
@@ -154,6 +201,7 @@ class ListControllerTest {
                 "Mi Lista 1",
                 "Descripción 1",
                 new ArrayList<>(),
+                0L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -163,20 +211,22 @@ class ListControllerTest {
                 "Mi Lista 2",
                 "Descripción 2",
                 new ArrayList<>(),
+                0L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
 
-        when(listService.getListsByUserId(2L)).thenReturn(List.of(list1, list2));
+        when(listService.getListsByUserId(2L, "cursor", 5, ListService.DEFAULT_FEED_ITEMS)).thenReturn(new CursorPageDTO<>(List.of(list1, list2), null, false));
 
-        mockMvc.perform(get("/api/v1/lists/user/2"))
+        mockMvc.perform(get("/api/v1/lists/user/2").param("cursor", "cursor").param("limit", "5"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].userId", is(2)))
-                .andExpect(jsonPath("$[0].userName", is("otheruser")))
-                .andExpect(jsonPath("$[1].userId", is(2)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].userId", is(2)))
+                .andExpect(jsonPath("$.items[0].userName", is("otheruser")))
+                .andExpect(jsonPath("$.items[1].userId", is(2)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
 
-        verify(listService, times(1)).getListsByUserId(2L);
+        verify(listService, times(1)).getListsByUserId(2L, "cursor", 5, ListService.DEFAULT_FEED_ITEMS);
     }
 
     @Test
@@ -196,6 +246,7 @@ class ListControllerTest {
                 "Lista Actualizada",
                 "Descripción actualizada",
                 List.of(itemResponse),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -239,6 +290,7 @@ class ListControllerTest {
                 "Lista Vacía",
                 "Sin items todavía",
                 new ArrayList<>(),
+                0L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -280,6 +332,7 @@ class ListControllerTest {
                 "Contenido Mixto",
                 "Una lista con todo tipo de contenido",
                 List.of(respItem1, respItem2, respItem3, respItem4),
+                4L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -300,4 +353,54 @@ class ListControllerTest {
 
         verify(listService, times(1)).createEntity(any(ListRequestDTO.class));
     }
+
+    @Test
+    @DisplayName("POST /lists/{id}/items añade un elemento y responde con 201")
+    void addItem_returnsCreated() throws Exception {
+        ListItemDTO item = new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB);
+        when(listService.addItem(eq(1L), any(ListItemDTO.class)))
+                .thenReturn(new ListItemResponseDTO(7L, ContentType.MOVIE, "550", ApiSource.TMDB, 3));
+
+        mockMvc.perform(post("/api/v1/lists/1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idListItem", is(7)))
+                .andExpect(jsonPath("$.position", is(3)));
+
+        verify(listService).addItem(1L, item);
+    }
+
+    @Test
+    @DisplayName("DELETE /lists/{id}/items/{itemId} quita el elemento y responde con 204")
+    void removeItem_returnsNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/lists/1/items/7"))
+                .andExpect(status().isNoContent());
+
+        verify(listService).removeItem(1L, 7L);
+    }
+
+    @Test
+    @DisplayName("PATCH /lists/{id}/items/{itemId} mueve el elemento a la posición pedida")
+    void moveItem_returnsMovedItem() throws Exception {
+        when(listService.moveItem(1L, 7L, 0))
+                .thenReturn(new ListItemResponseDTO(7L, ContentType.MOVIE, "550", ApiSource.TMDB, 0));
+
+        mockMvc.perform(patch("/api/v1/lists/1/items/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ListItemMoveDTO(0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position", is(0)));
+    }
+
+    @Test
+    @DisplayName("PATCH /lists/{id}/items/{itemId} sin posición responde con 400")
+    void moveItem_withoutPositionReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/lists/1/items/7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(listService, never()).moveItem(any(), any(), anyInt());
+    }
 }
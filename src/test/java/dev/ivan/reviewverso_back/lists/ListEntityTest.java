@@ -67,13 +67,13 @@ class ListEntityTest {
         assertThat(list.getItems().get(0), is(item1));
         assertThat(list.getItems().get(1), is(item2));
         assertThat(item1.getPosition(), is(0));
-        assertThat(item2.getPosition(), is(1));
+        assertThat(item2.getPosition(), is(ListItemEntity.POSITION_GAP));
         assertThat(item1.getList(), is(list));
         assertThat(item2.getList(), is(list));
     }
 
     @Test
-    void removeItem_should_remove_item_and_reorder_positions() {
+    void removeItem_should_remove_item_without_renumbering() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
         ListEntity list = ListEntity.builder()
                 .idList(1L)
@@ -112,7 +112,7 @@ class ListEntityTest {
         assertThat(list.getItems(), hasSize(2));
         assertThat(list.getItems(), contains(item1, item3));
         assertThat(item1.getPosition(), is(0));
-        assertThat(item3.getPosition(), is(1));
+        assertThat(item3.getPosition(), is(2 * ListItemEntity.POSITION_GAP));
         assertThat(item2.getList(), is(nullValue()));
     }
 
@@ -0,0 +1,132 @@
+package dev.ivan.reviewverso_back.lists;
+
+import dev.ivan.reviewverso_back.lists.dtos.ListItemBoundsDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ListItemRepositoryIntegrationTest {
+
+    @Autowired
+    private ListItemRepository listItemRepository;
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ListEntity list;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity owner = userRepository.save(UserEntity.builder().userName("duenio").email("duenio@example.com").password("pass").build());
+        list = ListEntity.builder().user(owner).title("Lista").build();
+        for (int i = 0; i < 4; i++) {
+            list.addItem(ListItemEntity.builder()
+                    .contentType(ContentType.MOVIE)
+                    .contentId("m" + i)
+                    .apiSource(ApiSource.TMDB)
+                    .build());
+        }
+        list = listRepository.save(list);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private ListItemEntity item(String contentId) {
+        return listItemRepository.findAll().stream()
+                .filter(item -> item.getContentId().equals(contentId)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("findBounds devuelve el número de elementos y la última posición, o null si la lista está vacía")
+    void findBounds_returnsCountAndLastPosition() {
+        ListEntity empty = listRepository.save(ListEntity.builder().user(list.getUser()).title("Vacía").build());
+
+        assertThat(listItemRepository.findBounds(list.getIdList()), is(new ListItemBoundsDTO(4L, 3 * POSITION_GAP)));
+        assertThat(listItemRepository.findBounds(empty.getIdList()), is(new ListItemBoundsDTO(0L, null)));
+    }
+
+    @Test
+    @DisplayName("findInList no encuentra elementos de otra lista")
+    void findInList_checksList() {
+        ListItemEntity item = item("m0");
+
+        assertThat(listItemRepository.findInList(list.getIdList(), item.getIdListItem()).isPresent(), is(true));
+        assertThat(listItemRepository.findInList(list.getIdList() + 1, item.getIdListItem()).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("findNeighbourPositions devuelve los vecinos del hueco sin contar el elemento que se mueve")
+    void findNeighbourPositions_skipsMovedItem() {
+        Long moved = item("m1").getIdListItem();
+
+        assertThat(listItemRepository.findNeighbourPositions(list.getIdList(), moved, 0), contains(0, 2 * POSITION_GAP));
+        assertThat(listItemRepository.findNeighbourPositions(list.getIdList(), moved, 2), contains(3 * POSITION_GAP));
+    }
+
+    @Test
+    @DisplayName("findCrowdedListIds encuentra las listas con dos elementos demasiado juntos")
+    void findCrowdedListIds_detectsSmallGaps() {
+        assertThat(listItemRepository.findCrowdedListIds(8), is(empty()));
+
+        ListItemEntity crowded = item("m1");
+        crowded.setPosition(4);
+        listItemRepository.saveAndFlush(crowded);
+
+        assertThat(listItemRepository.findCrowdedListIds(8), contains(list.getIdList()));
+    }
+
+    @Test
+    @DisplayName("findByListOrdered devuelve los elementos en orden de posición")
+    void findByListOrdered_sortsByPosition() {
+        ListItemEntity last = item("m3");
+        last.setPosition(-POSITION_GAP);
+        listItemRepository.saveAndFlush(last);
+        entityManager.clear();
+
+        assertThat(listItemRepository.findByListOrdered(list.getIdList()).stream().map(ListItemEntity::getContentId).toList(),
+                contains("m3", "m0", "m1", "m2"));
+    }
+
+    @Test
+    @DisplayName("findFirstItems/findItemsAfter recorren los elementos en orden sin repetir ni saltar")
+    void itemPages_walkAllItems() {
+        ListItemEntity tied = item("m2");
+        tied.setPosition(POSITION_GAP);
+        listItemRepository.saveAndFlush(tied);
+
+        List<String> seen = new ArrayList<>();
+        List<ListItemRowDTO> page = listItemRepository.findFirstItems(list.getIdList(), Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.contentId()));
+            ListItemRowDTO last = page.get(page.size() - 1);
+            page = listItemRepository.findItemsAfter(list.getIdList(), last.position(), last.idListItem(), Limit.of(3));
+        }
+
+        assertThat(seen, contains("m0", "m1", "m2", "m3"));
+    }
+}
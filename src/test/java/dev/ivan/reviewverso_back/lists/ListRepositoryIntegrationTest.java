@@ -0,0 +1,167 @@
+package dev.ivan.reviewverso_back.lists;
+
+import dev.ivan.reviewverso_back.lists.dtos.ListItemPreviewDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemRowDTO;
+import dev.ivan.reviewverso_back.lists.dtos.ListRowDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ListRepositoryIntegrationTest {
+
+    @Autowired
+    private ListRepository listRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UserEntity owner;
+    private UserEntity other;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(UserEntity.builder().userName("duenio").email("duenio@example.com").password("pass").build());
+        other = userRepository.save(UserEntity.builder().userName("otro").email("otro@example.com").password("pass").build());
+    }
+
+    private ListEntity saveList(UserEntity user, String title, int items) {
+        ListEntity list = ListEntity.builder().user(user).title(title).build();
+        for (int i = 0; i < items; i++) {
+            list.addItem(ListItemEntity.builder()
+                    .contentType(ContentType.MOVIE)
+                    .contentId(title + "-" + i)
+                    .apiSource(ApiSource.TMDB)
+                    .build());
+        }
+        return listRepository.save(list);
+    }
+
+    @Test
+    @DisplayName("findNewest/findNewestAfter recorren todas las listas por keyset sin repetir ni saltar")
+    void newest_walksAllPages() {
+        for (int i = 0; i < 5; i++) {
+            saveList(i % 2 == 0 ? owner : other, "Lista " + i, 0);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        List<ListRowDTO> page = listRepository.findNewest(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.idList()));
+            ListRowDTO last = page.get(page.size() - 1);
+            page = listRepository.findNewestAfter(last.createdAt(), last.idList(), Limit.of(2));
+        }
+
+        assertThat(seen, hasSize(5));
+        assertThat(seen.stream().distinct().count(), is(5L));
+    }
+
+    @Test
+    @DisplayName("findNewestByUser solo devuelve las listas del usuario, con su id y nombre")
+    void newestByUser_filtersAndProjectsUser() {
+        saveList(owner, "Mía", 1);
+        saveList(other, "Ajena", 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ListRowDTO> rows = listRepository.findNewestByUser(owner.getIdUser(), Limit.of(10));
+
+        assertThat(rows, hasSize(1));
+        assertThat(rows.get(0).title(), is("Mía"));
+        assertThat(rows.get(0).userId(), is(owner.getIdUser()));
+        assertThat(rows.get(0).userName(), is("duenio"));
+    }
+
+    @Test
+    @DisplayName("findItemRows trae en una consulta los elementos de varias listas, en orden de posición")
+    void findItemRows_returnsItemsOfAllLists() {
+        ListEntity first = saveList(owner, "Primera", 3);
+        ListEntity second = saveList(owner, "Segunda", 2);
+        ListEntity empty = saveList(owner, "Vacía", 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ListItemRowDTO> items = listRepository.findItemRows(
+                List.of(first.getIdList(), second.getIdList(), empty.getIdList()));
+
+        assertThat(items, hasSize(5));
+        assertThat(items.stream().filter(i -> i.listId().equals(first.getIdList())).map(ListItemRowDTO::position).toList(),
+                contains(0, POSITION_GAP, 2 * POSITION_GAP));
+        assertThat(items.stream().filter(i -> i.listId().equals(second.getIdList())).map(ListItemRowDTO::contentId).toList(),
+                contains("Segunda-0", "Segunda-1"));
+    }
+
+    @Test
+    @DisplayName("findFirstItemRows trae solo los primeros elementos de cada lista con el total de la lista")
+    void findFirstItemRows_truncatesEachList() {
+        ListEntity big = saveList(owner, "Grande", 25);
+        ListEntity small = saveList(owner, "Pequeña", 2);
+        ListEntity empty = saveList(owner, "Vacía", 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ListItemPreviewDTO> rows = listRepository.findFirstItemRows(
+                List.of(big.getIdList(), small.getIdList(), empty.getIdList()), 3);
+
+        assertThat(rows, hasSize(5));
+        List<ListItemPreviewDTO> bigRows = rows.stream()
+                .filter(r -> r.item().listId().equals(big.getIdList())).toList();
+        assertThat(bigRows.stream().map(r -> r.item().contentId()).toList(),
+                contains("Grande-0", "Grande-1", "Grande-2"));
+        assertThat(bigRows.stream().map(r -> r.item().position()).toList(),
+                contains(0, POSITION_GAP, 2 * POSITION_GAP));
+        assertThat(bigRows.stream().map(ListItemPreviewDTO::itemCount).distinct().toList(), contains(25L));
+        assertThat(rows.stream().filter(r -> r.item().listId().equals(small.getIdList()))
+                .map(ListItemPreviewDTO::itemCount).toList(), contains(2L, 2L));
+        assertThat(rows.stream().map(r -> r.item().contentType()).distinct().toList(), contains(ContentType.MOVIE));
+        assertThat(rows.stream().map(r -> r.item().apiSource()).distinct().toList(), contains(ApiSource.TMDB));
+    }
+
+    @Test
+    @DisplayName("findOwnerIdForUpdate y findByIdForUpdate leen la lista bloqueándola")
+    void forUpdate_returnsOwnerAndList() {
+        ListEntity list = saveList(owner, "Bloqueada", 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(listRepository.findOwnerIdForUpdate(list.getIdList()).orElseThrow(), is(owner.getIdUser()));
+        assertThat(listRepository.findOwnerIdForUpdate(-1L).isPresent(), is(false));
+        ListEntity locked = listRepository.findByIdForUpdate(list.getIdList()).orElseThrow();
+        assertThat(locked.getTitle(), is("Bloqueada"));
+        assertThat(entityManager.getLockMode(locked), is(LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    @Test
+    @DisplayName("findRowById devuelve también listas sin elementos")
+    void findRowById_returnsEmptyLists() {
+        ListEntity empty = saveList(owner, "Vacía", 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(listRepository.findRowById(empty.getIdList()).isPresent(), is(true));
+        assertThat(listRepository.findItemRows(List.of(empty.getIdList())), is(empty()));
+    }
+}
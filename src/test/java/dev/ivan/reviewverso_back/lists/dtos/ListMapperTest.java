@@ -56,7 +56,7 @@ class ListMapperTest {
         assertEquals(ContentType.SERIES, entityItem2.getContentType());
         assertEquals("1399", entityItem2.getContentId());
         assertEquals(ApiSource.TMDB, entityItem2.getApiSource());
-        assertEquals(1, entityItem2.getPosition());
+        assertEquals(ListItemEntity.POSITION_GAP, entityItem2.getPosition());
         assertEquals(entity, entityItem2.getList());
     }
 
@@ -191,4 +191,53 @@ class ListMapperTest {
         assertNotNull(dto.items());
         assertTrue(dto.items().isEmpty());
     }
+
+    @Test
+    void testListRowToListResponseDto() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        ListRowDTO row = new ListRowDTO(30L, 7L, "user7", "Desde proyección", "Filas", createdAt, createdAt);
+        List<ListItemRowDTO> items = List.of(
+                new ListItemRowDTO(30L, 100L, ContentType.MOVIE, "550", ApiSource.TMDB, 1024),
+                new ListItemRowDTO(30L, 101L, ContentType.BOOK, "OL1", ApiSource.OPENLIBRARY, 2048)
+        );
+
+        ListResponseDTO dto = listMapper.listRowToListResponseDto(row, items);
+
+        assertEquals(30L, dto.idList());
+        assertEquals(7L, dto.userId());
+        assertEquals("user7", dto.userName());
+        assertEquals("Desde proyección", dto.title());
+        assertEquals(createdAt, dto.createdAt());
+        assertEquals(2, dto.items().size());
+        assertEquals(2L, dto.itemCount());
+        assertEquals(101L, dto.items().get(1).idListItem());
+        assertEquals(ContentType.BOOK, dto.items().get(1).contentType());
+        assertEquals(1, dto.items().get(1).position());
+    }
+
+    @Test
+    void testListEntityToListResponseDto_exposesIndexInsteadOfSparsePosition() {
+        UserEntity user = UserEntity.builder().idUser(5L).userName("user5").build();
+        ListEntity list = ListEntity.builder().idList(21L).user(user).title("Dispersa").build();
+        list.getItems().add(ListItemEntity.builder().idListItem(1L).contentType(ContentType.MOVIE)
+                .contentId("550").apiSource(ApiSource.TMDB).position(-512).build());
+        list.getItems().add(ListItemEntity.builder().idListItem(2L).contentType(ContentType.MOVIE)
+                .contentId("551").apiSource(ApiSource.TMDB).position(3000).build());
+
+        ListResponseDTO dto = listMapper.listEntityToListResponseDto(list);
+
+        assertEquals(0, dto.items().get(0).position());
+        assertEquals(1, dto.items().get(1).position());
+    }
+
+    @Test
+    void testListRowToListResponseDto_summaryKeepsTotalCount() {
+        ListRowDTO row = new ListRowDTO(31L, 7L, "user7", "Vistas", null, LocalDateTime.now(), LocalDateTime.now());
+        List<ListItemRowDTO> firstItems = List.of(new ListItemRowDTO(31L, 100L, ContentType.MOVIE, "550", ApiSource.TMDB, 0));
+
+        ListResponseDTO dto = listMapper.listRowToListResponseDto(row, firstItems, 2500L);
+
+        assertEquals(1, dto.items().size());
+        assertEquals(2500L, dto.itemCount());
+    }
 }
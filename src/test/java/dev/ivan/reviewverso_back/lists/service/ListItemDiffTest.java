@@ -0,0 +1,125 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import dev.ivan.reviewverso_back.lists.ListEntity;
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.dtos.ListItemDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ListItemDiffTest {
+
+    private ListEntity list;
+
+    @BeforeEach
+    void setUp() {
+        list = ListEntity.builder().idList(1L).title("Lista").items(new ArrayList<>()).build();
+        for (int i = 0; i < 4; i++) {
+            list.addItem(ListItemEntity.builder()
+                    .idListItem(10L + i)
+                    .contentType(ContentType.MOVIE)
+                    .contentId("m" + i)
+                    .apiSource(ApiSource.TMDB)
+                    .build());
+        }
+    }
+
+    private static ListItemDTO movie(String contentId) {
+        return new ListItemDTO(ContentType.MOVIE, contentId, ApiSource.TMDB);
+    }
+
+    private List<Long> ids() {
+        return list.getItems().stream().map(ListItemEntity::getIdListItem).toList();
+    }
+
+    private void assertPositionsIncrease() {
+        List<Integer> positions = list.getItems().stream().map(ListItemEntity::getPosition).toList();
+        for (int i = 1; i < positions.size(); i++) {
+            assertThat(positions.get(i), greaterThan(positions.get(i - 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("Una lista sin cambios no inserta, borra ni mueve nada")
+    void apply_unchangedListTouchesNothing() {
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m0"), movie("m1"), movie("m2"), movie("m3")));
+
+        assertThat(result, is(new ListItemDiff.Result(0, 0, 0)));
+        assertThat(ids(), contains(10L, 11L, 12L, 13L));
+    }
+
+    @Test
+    @DisplayName("Intercambiar dos elementos contiguos solo cambia la posición de uno")
+    void apply_swapMovesOneItem() {
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m0"), movie("m2"), movie("m1"), movie("m3")));
+
+        assertThat(result, is(new ListItemDiff.Result(0, 0, 1)));
+        assertThat(ids(), contains(10L, 12L, 11L, 13L));
+        assertPositionsIncrease();
+    }
+
+    @Test
+    @DisplayName("Llevar el último elemento al principio solo cambia su posición")
+    void apply_moveToFrontMovesOneItem() {
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m3"), movie("m0"), movie("m1"), movie("m2")));
+
+        assertThat(result, is(new ListItemDiff.Result(0, 0, 1)));
+        assertThat(list.getItems().get(0).getPosition(), is(-POSITION_GAP));
+        assertPositionsIncrease();
+    }
+
+    @Test
+    @DisplayName("Los elementos nuevos reciben posición entre sus vecinos y los que faltan se quitan")
+    void apply_insertsAndDeletes() {
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m0"), movie("nueva"), movie("m2")));
+
+        assertThat(result, is(new ListItemDiff.Result(1, 2, 0)));
+        assertThat(list.getItems(), hasSize(3));
+        ListItemEntity inserted = list.getItems().get(1);
+        assertThat(inserted.getIdListItem(), is(nullValue()));
+        assertThat(inserted.getList(), is(sameInstance(list)));
+        assertThat(inserted.getPosition(), is(POSITION_GAP));
+        assertPositionsIncrease();
+    }
+
+    @Test
+    @DisplayName("Sin hueco entre los vecinos se renumera toda la lista")
+    void apply_renumbersWhenThereIsNoRoom() {
+        list.getItems().get(1).setPosition(1);
+
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m0"), movie("nueva"), movie("m1")));
+
+        assertThat(list.getItems().stream().map(ListItemEntity::getPosition).toList(), contains(0, POSITION_GAP, 2 * POSITION_GAP));
+        assertThat(result.moved(), is(1));
+    }
+
+    @Test
+    @DisplayName("Los contenidos repetidos se emparejan por orden de aparición")
+    void apply_matchesDuplicatesInOrder() {
+        list.addItem(ListItemEntity.builder().idListItem(14L).contentType(ContentType.MOVIE).contentId("m0")
+                .apiSource(ApiSource.TMDB).build());
+
+        ListItemDiff.Result result = ListItemDiff.apply(list, List.of(movie("m0"), movie("m0")));
+
+        assertThat(result, is(new ListItemDiff.Result(0, 3, 0)));
+        assertThat(ids(), contains(10L, 14L));
+    }
+
+    @Test
+    @DisplayName("El mismo id en otra fuente o tipo es otro contenido")
+    void apply_keyIncludesTypeAndSource() {
+        ListItemDiff.Result result = ListItemDiff.apply(list,
+                List.of(new ListItemDTO(ContentType.SERIES, "m0", ApiSource.TMDB)));
+
+        assertThat(result, is(new ListItemDiff.Result(1, 4, 0)));
+    }
+}
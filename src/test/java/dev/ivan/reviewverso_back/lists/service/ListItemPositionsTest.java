@@ -0,0 +1,35 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ListItemPositionsTest {
+
+    @Test
+    @DisplayName("between usa el punto medio o se separa un hueco del único vecino")
+    void between_picksFreePosition() {
+        assertThat(ListItemPositions.between(null, null), is(0));
+        assertThat(ListItemPositions.between(0, 1024), is(512));
+        assertThat(ListItemPositions.between(2048, null), is(2048 + POSITION_GAP));
+        assertThat(ListItemPositions.between(null, 0), is(-POSITION_GAP));
+    }
+
+    @Test
+    @DisplayName("between devuelve null sin hueco o fuera del rango de int")
+    void between_returnsNullWithoutRoom() {
+        assertThat(ListItemPositions.between(5, 6), is(nullValue()));
+        assertThat(ListItemPositions.between(Integer.MAX_VALUE - 10, null), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("spread reparte varias posiciones entre los vecinos")
+    void spread_distributesPositions() {
+        assertThat(ListItemPositions.spread(0, 1000, 3), is(new int[] { 250, 500, 750 }));
+        assertThat(ListItemPositions.spread(null, 0, 2), is(new int[] { -2 * POSITION_GAP, -POSITION_GAP }));
+        assertThat(ListItemPositions.spread(0, 3, 3), is(nullValue()));
+    }
+}
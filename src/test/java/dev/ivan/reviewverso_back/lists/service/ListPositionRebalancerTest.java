@@ -0,0 +1,74 @@
+package dev.ivan.reviewverso_back.lists.service;
+
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.ListItemRepository;
+import dev.ivan.reviewverso_back.lists.ListRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static dev.ivan.reviewverso_back.lists.ListItemEntity.POSITION_GAP;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class ListPositionRebalancerTest {
+
+    private final ListRepository listRepository = mock(ListRepository.class);
+    private final ListItemRepository listItemRepository = mock(ListItemRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ListPositionRebalancer rebalancer =
+            new ListPositionRebalancer(listRepository, listItemRepository, transactionManager, 8);
+
+    private static ListItemEntity item(int position) {
+        return ListItemEntity.builder().position(position).build();
+    }
+
+    @Test
+    @DisplayName("rebalance renumera en orden y solo cambia los elementos que no están en su sitio")
+    void rebalance_renumbersKeepingOrder() {
+        List<ListItemEntity> items = List.of(item(-3), item(POSITION_GAP), item(POSITION_GAP + 1));
+        when(listItemRepository.findByListOrdered(1L)).thenReturn(items);
+
+        int changed = rebalancer.rebalance(1L);
+
+        assertThat(changed, is(2));
+        assertThat(items.stream().map(ListItemEntity::getPosition).toList(), contains(0, POSITION_GAP, 2 * POSITION_GAP));
+        verify(listItemRepository).flush();
+    }
+
+    @Test
+    @DisplayName("rebalanceCrowded renumera cada lista con huecos pequeños en su propia transacción")
+    void rebalanceCrowded_rebalancesEachListInItsOwnTransaction() {
+        when(listItemRepository.findCrowdedListIds(8)).thenReturn(List.of(1L, 2L));
+        when(listRepository.findOwnerIdForUpdate(anyLong())).thenReturn(Optional.of(7L));
+        when(listItemRepository.findByListOrdered(anyLong())).thenReturn(List.of());
+
+        int rebalanced = rebalancer.rebalanceCrowded();
+
+        assertThat(rebalanced, is(2));
+        verify(listRepository).findOwnerIdForUpdate(1L);
+        verify(listItemRepository).findByListOrdered(1L);
+        verify(listItemRepository).findByListOrdered(2L);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("rebalanceCrowded bloquea cada lista antes de renumerarla y salta las que ya no existen")
+    void rebalanceCrowded_locksListAndSkipsDeleted() {
+        when(listItemRepository.findCrowdedListIds(8)).thenReturn(List.of(1L, 2L));
+        when(listRepository.findOwnerIdForUpdate(1L)).thenReturn(Optional.of(7L));
+        when(listRepository.findOwnerIdForUpdate(2L)).thenReturn(Optional.empty());
+        when(listItemRepository.findByListOrdered(anyLong())).thenReturn(List.of());
+
+        rebalancer.rebalanceCrowded();
+
+        var inOrder = inOrder(listRepository, listItemRepository);
+        inOrder.verify(listRepository).findOwnerIdForUpdate(1L);
+        inOrder.verify(listItemRepository).findByListOrdered(1L);
+        verify(listItemRepository, never()).findByListOrdered(2L);
+    }
+}
@@ -1,20 +1,28 @@
 package dev.ivan.reviewverso_back.lists.service;
 
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.lists.ListEntity;
+import dev.ivan.reviewverso_back.lists.ListItemEntity;
+import dev.ivan.reviewverso_back.lists.ListItemRepository;
 import dev.ivan.reviewverso_back.lists.ListRepository;
 import dev.ivan.reviewverso_back.lists.dtos.*;
+import dev.ivan.reviewverso_back.lists.exceptions.ListAccessDeniedException;
+import dev.ivan.reviewverso_back.lists.exceptions.ListItemNotFoundException;
 import dev.ivan.reviewverso_back.lists.exceptions.ListNotFoundException;
 import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
 import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,6 +36,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ListServiceImplTest {
@@ -36,7 +46,13 @@ class ListServiceImplTest {
     private ListRepository listRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private ListItemRepository listItemRepository;
+
+    @Mock
+    private ListPositionRebalancer listPositionRebalancer;
+
+    @Mock
+    private CurrentUserResolver currentUserResolver;
 
     @Mock
     private ListMapper listMapper;
@@ -52,6 +68,8 @@ class ListServiceImplTest {
 
     private UserEntity testUser;
     private ListEntity testList;
+    private ListRowDTO testRow;
+    private ListItemRowDTO testItemRow;
     private ListRequestDTO testRequestDTO;
     private ListResponseDTO testResponseDTO;
 
@@ -77,6 +95,10 @@ class ListServiceImplTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
+        testRow = new ListRowDTO(1L, 1L, "testuser", "Mi Lista", "Descripción de prueba",
+                LocalDateTime.now(), LocalDateTime.now());
+        testItemRow = new ListItemRowDTO(1L, 1L, ContentType.MOVIE, "550", ApiSource.TMDB, 0);
+
         ListItemDTO itemDTO = new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB);
         testRequestDTO = new ListRequestDTO(
                 "Mi Lista",
@@ -92,6 +114,7 @@ class ListServiceImplTest {
                 "Mi Lista",
                 "Descripción de prueba",
                 List.of(itemResponseDTO),
+                1L,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -100,7 +123,7 @@ class ListServiceImplTest {
     @Test
     @DisplayName("createEntity crea y retorna la lista correctamente")
     void createEntity_createsListSuccessfully() {
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(testUser));
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(testUser);
         when(listMapper.listRequestDtoToListEntity(testRequestDTO, testUser)).thenReturn(testList);
         when(listRepository.save(testList)).thenReturn(testList);
         when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
@@ -117,43 +140,30 @@ class ListServiceImplTest {
     @Test
     @DisplayName("createEntity lanza UserNotFoundException si el usuario no existe")
     void createEntity_throwsUserNotFoundException() {
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.empty());
+        when(currentUserResolver.getCurrentUserReference()).thenThrow(new UserNotFoundException("Usuario no autenticado"));
 
         assertThrows(UserNotFoundException.class, () -> listService.createEntity(testRequestDTO));
         verify(listRepository, never()).save(any());
     }
 
-    @Test
-    @DisplayName("getEntities retorna lista de todas las listas")
-    void getEntities_returnsAllLists() {
-        List<ListEntity> lists = List.of(testList);
-        when(listRepository.findAll()).thenReturn(lists);
-        when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
-
-        List<ListResponseDTO> result = listService.getEntities();
-
-        assertThat(result, hasSize(1));
-        assertThat(result.get(0), is(testResponseDTO));
-        verify(listRepository).findAll();
-    }
-
     @Test
     @DisplayName("getByID retorna la lista correctamente")
     void getByID_returnsListSuccessfully() {
-        when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
+        when(listRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
+        when(listRepository.findItemRows(List.of(1L))).thenReturn(List.of(testItemRow));
+        when(listMapper.listRowToListResponseDto(testRow, List.of(testItemRow))).thenReturn(testResponseDTO);
 
         ListResponseDTO result = listService.getByID(1L);
 
         assertThat(result, is(testResponseDTO));
         assertThat(result.idList(), is(1L));
-        verify(listRepository).findById(1L);
+        verify(listRepository).findRowById(1L);
     }
 
     @Test
     @DisplayName("getByID lanza ListNotFoundException si la lista no existe")
     void getByID_throwsListNotFoundException() {
-        when(listRepository.findById(99L)).thenReturn(Optional.empty());
+        when(listRepository.findRowById(99L)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(ListNotFoundException.class, () -> listService.getByID(99L));
         assertThat(ex.getMessage(), containsString("Lista no encontrada con id: 99"));
@@ -168,8 +178,8 @@ class ListServiceImplTest {
                 new ArrayList<>()
         );
 
-        when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(testUser));
+        when(listRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testList));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(1L);
         when(listRepository.save(testList)).thenReturn(testList);
         when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
 
@@ -184,7 +194,7 @@ class ListServiceImplTest {
     @Test
     @DisplayName("updateEntity lanza ListNotFoundException si la lista no existe")
     void updateEntity_throwsListNotFoundException() {
-        when(listRepository.findById(99L)).thenReturn(Optional.empty());
+        when(listRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(ListNotFoundException.class, 
                 () -> listService.updateEntity(99L, testRequestDTO));
@@ -199,8 +209,8 @@ class ListServiceImplTest {
                 .userName("otheruser")
                 .build();
 
-        when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(otherUser));
+        when(listRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testList));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(otherUser.getIdUser());
 
         Exception ex = assertThrows(RuntimeException.class, 
                 () -> listService.updateEntity(1L, testRequestDTO));
@@ -218,8 +228,8 @@ class ListServiceImplTest {
                 List.of(newItem)
         );
 
-        when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(testUser));
+        when(listRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testList));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(1L);
         when(listRepository.save(testList)).thenReturn(testList);
         when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
 
@@ -231,11 +241,269 @@ class ListServiceImplTest {
         verify(listRepository).save(testList);
     }
 
+    @Test
+    @DisplayName("updateEntity conserva los elementos que siguen en la lista y solo cambia la posición del movido")
+    void updateEntity_keepsExistingItems() {
+        ListItemEntity first = ListItemEntity.builder().idListItem(10L).contentType(ContentType.MOVIE)
+                .contentId("550").apiSource(ApiSource.TMDB).build();
+        ListItemEntity second = ListItemEntity.builder().idListItem(11L).contentType(ContentType.SERIES)
+                .contentId("1399").apiSource(ApiSource.TMDB).build();
+        testList.addItem(first);
+        testList.addItem(second);
+        ListRequestDTO updateDTO = new ListRequestDTO(null, null, List.of(
+                new ListItemDTO(ContentType.SERIES, "1399", ApiSource.TMDB),
+                new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB)));
+
+        when(listRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testList));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(1L);
+        when(listRepository.save(testList)).thenReturn(testList);
+
+        listService.updateEntity(1L, updateDTO);
+
+        assertThat(testList.getItems(), contains(sameInstance(second), sameInstance(first)));
+        assertThat(first.getPosition(), is(0));
+        assertThat(second.getPosition(), is(lessThan(first.getPosition())));
+    }
+
+    @Test
+    @DisplayName("addItem añade el elemento un hueco detrás del último sin cargar la lista")
+    void addItem_appendsAfterLastPosition() {
+        ListItemDTO dto = new ListItemDTO(ContentType.BOOK, "OL1", ApiSource.OPENLIBRARY);
+        ListItemResponseDTO response = new ListItemResponseDTO(5L, ContentType.BOOK, "OL1", ApiSource.OPENLIBRARY, 3);
+        givenOwner();
+        when(listRepository.getReferenceById(1L)).thenReturn(testList);
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(3L, 2048));
+        when(listItemRepository.save(any(ListItemEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(listMapper.listItemEntityToDto(any(), eq(3))).thenReturn(response);
+
+        ListItemResponseDTO result = listService.addItem(1L, dto);
+
+        assertThat(result, is(response));
+        verify(listItemRepository).save(argThat(item -> item.getPosition() == 2048 + ListItemEntity.POSITION_GAP
+                && item.getList() == testList));
+        verify(listRepository, never()).findById(any());
+        verifyNoInteractions(listPositionRebalancer);
+    }
+
+    @Test
+    @DisplayName("addItem renumera la lista si la última posición ya no deja sitio")
+    void addItem_rebalancesOnOverflow() {
+        givenOwner();
+        when(listRepository.getReferenceById(1L)).thenReturn(testList);
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(2L, Integer.MAX_VALUE - 1));
+        when(listItemRepository.save(any(ListItemEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        listService.addItem(1L, new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB));
+
+        verify(listPositionRebalancer).rebalance(1L);
+        verify(listItemRepository).save(argThat(item -> item.getPosition() == 2 * ListItemEntity.POSITION_GAP));
+    }
+
+    @Test
+    @DisplayName("addItem lanza ListAccessDeniedException si el usuario no es el propietario")
+    void addItem_throwsIfNotOwner() {
+        when(listRepository.findOwnerIdForUpdate(1L)).thenReturn(Optional.of(1L));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(2L);
+
+        assertThrows(ListAccessDeniedException.class,
+                () -> listService.addItem(1L, new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB)));
+        verify(listItemRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("removeItem borra solo la fila del elemento")
+    void removeItem_deletesOnlyThatRow() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(1024).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+
+        listService.removeItem(1L, 10L);
+
+        verify(listItemRepository).findInList(1L, 10L);
+        verify(listItemRepository).delete(item);
+        verifyNoMoreInteractions(listItemRepository);
+    }
+
+    @Test
+    @DisplayName("removeItem lanza ListItemNotFoundException si el elemento no es de la lista")
+    void removeItem_throwsIfItemNotInList() {
+        givenOwner();
+        when(listItemRepository.findInList(1L, 99L)).thenReturn(Optional.empty());
+
+        assertThrows(ListItemNotFoundException.class, () -> listService.removeItem(1L, 99L));
+        verify(listItemRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("moveItem coloca el elemento entre sus nuevos vecinos")
+    void moveItem_placesBetweenNeighbours() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(4096).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(6L, 5120));
+        when(listItemRepository.findNeighbourPositions(1L, 10L, 0)).thenReturn(List.of(0, 1024));
+
+        listService.moveItem(1L, 10L, 1);
+
+        assertThat(item.getPosition(), is(512));
+        verify(listMapper).listItemEntityToDto(item, 1);
+        verifyNoInteractions(listPositionRebalancer);
+    }
+
+    @Test
+    @DisplayName("moveItem y addItem bloquean la fila de la lista antes de leer posiciones")
+    void itemWrites_lockListBeforeReadingPositions() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(4096).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(6L, 5120));
+        when(listItemRepository.findNeighbourPositions(1L, 10L, 0)).thenReturn(List.of(0, 1024));
+        when(listRepository.getReferenceById(1L)).thenReturn(testList);
+        when(listItemRepository.save(any(ListItemEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        listService.moveItem(1L, 10L, 1);
+        listService.addItem(1L, new ListItemDTO(ContentType.MOVIE, "550", ApiSource.TMDB));
+
+        InOrder inOrder = inOrder(listRepository, listItemRepository);
+        inOrder.verify(listRepository).findOwnerIdForUpdate(1L);
+        inOrder.verify(listItemRepository).findNeighbourPositions(1L, 10L, 0);
+        inOrder.verify(listRepository).findOwnerIdForUpdate(1L);
+        inOrder.verify(listItemRepository).findBounds(1L);
+        verify(listRepository, never()).findOwnerId(any());
+    }
+
+    @Test
+    @DisplayName("moveItem más allá del final deja el elemento el último")
+    void moveItem_clampsToLastPosition() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(1024).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(6L, 5120));
+        when(listItemRepository.findNeighbourPositions(1L, 10L, 4)).thenReturn(List.of(5120));
+
+        listService.moveItem(1L, 10L, 50);
+
+        assertThat(item.getPosition(), is(5120 + ListItemEntity.POSITION_GAP));
+        verify(listMapper).listItemEntityToDto(item, 5);
+    }
+
+    @Test
+    @DisplayName("moveItem no escribe nada si el elemento ya está entre sus vecinos")
+    void moveItem_keepsPositionWhenAlreadyInPlace() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(1024).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(3L, 2048));
+        when(listItemRepository.findNeighbourPositions(1L, 10L, 0)).thenReturn(List.of(0, 2048));
+
+        listService.moveItem(1L, 10L, 1);
+
+        assertThat(item.getPosition(), is(1024));
+    }
+
+    @Test
+    @DisplayName("moveItem renumera la lista si entre los vecinos no queda hueco")
+    void moveItem_rebalancesWhenThereIsNoRoom() {
+        ListItemEntity item = ListItemEntity.builder().idListItem(10L).position(5000).build();
+        givenOwner();
+        when(listItemRepository.findInList(1L, 10L)).thenReturn(Optional.of(item));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(3L, 5000));
+        when(listItemRepository.findNeighbourPositions(1L, 10L, 0))
+                .thenReturn(List.of(7, 8))
+                .thenReturn(List.of(0, 1024));
+
+        listService.moveItem(1L, 10L, 1);
+
+        verify(listPositionRebalancer).rebalance(1L);
+        assertThat(item.getPosition(), is(512));
+    }
+
+    @Test
+    @DisplayName("getSummary devuelve los primeros elementos y el total de la lista")
+    void getSummary_returnsFirstItemsAndCount() {
+        when(listRepository.findRowById(1L)).thenReturn(Optional.of(testRow));
+        when(listItemRepository.findFirstItems(1L, Limit.of(5))).thenReturn(List.of(testItemRow));
+        when(listItemRepository.findBounds(1L)).thenReturn(new ListItemBoundsDTO(3000L, 3_000_000));
+        when(listMapper.listRowToListResponseDto(testRow, List.of(testItemRow), 3000L)).thenReturn(testResponseDTO);
+
+        ListResponseDTO result = listService.getSummary(1L, 5);
+
+        assertThat(result, is(testResponseDTO));
+        verify(listRepository, never()).findItemRows(any());
+    }
+
+    @Test
+    @DisplayName("getSummary lanza ListNotFoundException si la lista no existe")
+    void getSummary_throwsIfListNotFound() {
+        when(listRepository.findRowById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ListNotFoundException.class, () -> listService.getSummary(99L, 5));
+        verifyNoInteractions(listItemRepository);
+    }
+
+    @Test
+    @DisplayName("getItemsPage devuelve la primera página con índices y un cursor que sigue la numeración")
+    void getItemsPage_returnsFirstPageWithCursor() {
+        ListItemRowDTO first = new ListItemRowDTO(1L, 10L, ContentType.MOVIE, "550", ApiSource.TMDB, 0);
+        ListItemRowDTO second = new ListItemRowDTO(1L, 11L, ContentType.MOVIE, "551", ApiSource.TMDB, 1024);
+        ListItemRowDTO third = new ListItemRowDTO(1L, 12L, ContentType.MOVIE, "552", ApiSource.TMDB, 2048);
+        when(listItemRepository.findFirstItems(1L, Limit.of(3))).thenReturn(List.of(first, second, third));
+
+        CursorPageDTO<ListItemResponseDTO> result = listService.getItemsPage(1L, null, 2);
+
+        assertThat(result.items(), hasSize(2));
+        assertThat(result.hasNext(), is(true));
+        assertThat(CursorCodec.decode(result.nextCursor(), 3), is(new String[]{"1024", "11", "2"}));
+        verify(listMapper).listItemRowToDto(first, 0);
+        verify(listMapper).listItemRowToDto(second, 1);
+        verify(listRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("getItemsPage continúa desde el cursor con el índice que trae")
+    void getItemsPage_continuesFromCursor() {
+        ListItemRowDTO row = new ListItemRowDTO(1L, 12L, ContentType.MOVIE, "552", ApiSource.TMDB, 2048);
+        when(listItemRepository.findItemsAfter(1L, 1024, 11L, Limit.of(21))).thenReturn(List.of(row));
+
+        CursorPageDTO<ListItemResponseDTO> result = listService.getItemsPage(1L, CursorCodec.encode("1024", "11", "2"), 20);
+
+        assertThat(result.hasNext(), is(false));
+        assertThat(result.nextCursor(), is(nullValue()));
+        verify(listMapper).listItemRowToDto(row, 2);
+    }
+
+    @Test
+    @DisplayName("getItemsPage distingue una lista vacía de una que no existe")
+    void getItemsPage_emptyPageChecksListExists() {
+        when(listItemRepository.findFirstItems(eq(1L), any())).thenReturn(List.of());
+        when(listItemRepository.findFirstItems(eq(99L), any())).thenReturn(List.of());
+        when(listRepository.existsById(1L)).thenReturn(true);
+        when(listRepository.existsById(99L)).thenReturn(false);
+
+        assertThat(listService.getItemsPage(1L, null, 20).items(), is(empty()));
+        assertThrows(ListNotFoundException.class, () -> listService.getItemsPage(99L, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> listService.getItemsPage(1L, CursorCodec.encode("1024", "11"), 20));
+    }
+
+    private void givenOwner() {
+        when(listRepository.findOwnerIdForUpdate(1L)).thenReturn(Optional.of(1L));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(1L);
+    }
+
+    @Test
+    @DisplayName("moveItem lanza ListNotFoundException si la lista no existe")
+    void moveItem_throwsIfListNotFound() {
+        when(listRepository.findOwnerIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ListNotFoundException.class, () -> listService.moveItem(99L, 10L, 0));
+    }
+
     @Test
     @DisplayName("deleteEntity elimina la lista correctamente")
     void deleteEntity_deletesListSuccessfully() {
         when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(testUser));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(1L);
 
         listService.deleteEntity(1L);
 
@@ -261,7 +529,7 @@ class ListServiceImplTest {
                 .build();
 
         when(listRepository.findById(1L)).thenReturn(Optional.of(testList));
-        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(otherUser));
+        when(currentUserResolver.getCurrentUserId()).thenReturn(otherUser.getIdUser());
 
         Exception ex = assertThrows(RuntimeException.class, () -> listService.deleteEntity(1L));
         assertThat(ex.getMessage(), containsString("No tienes permiso para eliminar esta lista"));
@@ -271,25 +539,76 @@ class ListServiceImplTest {
     @Test
     @DisplayName("getListsByUserId retorna listas del usuario")
     void getListsByUserId_returnsUserLists() {
-        List<ListEntity> userLists = List.of(testList);
-        when(listRepository.findByUserId(1L)).thenReturn(userLists);
-        when(listMapper.listEntityToListResponseDto(testList)).thenReturn(testResponseDTO);
-
-        List<ListResponseDTO> result = listService.getListsByUserId(1L);
-
-        assertThat(result, hasSize(1));
-        assertThat(result.get(0).userId(), is(1L));
-        verify(listRepository).findByUserId(1L);
+        when(listRepository.findNewestByUser(1L, Limit.of(21))).thenReturn(List.of(testRow));
+        when(listRepository.findFirstItemRows(List.of(1L), 10))
+                .thenReturn(List.of(new ListItemPreviewDTO(testItemRow, 1L)));
+        when(listMapper.listRowToListResponseDto(testRow, List.of(testItemRow), 1L)).thenReturn(testResponseDTO);
+
+        CursorPageDTO<ListResponseDTO> result = listService.getListsByUserId(1L, null, 20, 10);
+
+        assertThat(result.items(), hasSize(1));
+        assertThat(result.items().get(0).userId(), is(1L));
+        assertThat(result.hasNext(), is(false));
+        assertThat(result.nextCursor(), is(nullValue()));
+        verify(listRepository).findFirstItemRows(List.of(1L), 10);
+        verify(listRepository, never()).findItemRows(any());
     }
 
     @Test
     @DisplayName("getListsByUserId retorna lista vacía si el usuario no tiene listas")
     void getListsByUserId_returnsEmptyListIfNoLists() {
-        when(listRepository.findByUserId(99L)).thenReturn(new ArrayList<>());
+        when(listRepository.findNewestByUser(99L, Limit.of(21))).thenReturn(new ArrayList<>());
 
-        List<ListResponseDTO> result = listService.getListsByUserId(99L);
+        CursorPageDTO<ListResponseDTO> result = listService.getListsByUserId(99L, null, 20, 10);
+
+        assertThat(result.items(), is(empty()));
+        verify(listRepository, never()).findFirstItemRows(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("getListsPage pide una fila de más para saber si hay página siguiente y devuelve su cursor")
+    void getListsPage_returnsCursorWhenMoreRows() {
+        ListRowDTO second = new ListRowDTO(2L, 1L, "testuser", "Otra", null,
+                LocalDateTime.of(2025, 1, 1, 10, 0), null);
+        ListRowDTO third = new ListRowDTO(3L, 1L, "testuser", "Tercera", null,
+                LocalDateTime.of(2025, 1, 1, 9, 0), null);
+        when(listRepository.findNewest(Limit.of(2))).thenReturn(List.of(second, third));
+        when(listMapper.listRowToListResponseDto(second, List.of(), 0L)).thenReturn(testResponseDTO);
+
+        CursorPageDTO<ListResponseDTO> result = listService.getListsPage(null, 1, 10);
+
+        assertThat(result.items(), hasSize(1));
+        assertThat(result.hasNext(), is(true));
+        assertThat(CursorCodec.decode(result.nextCursor(), 2), is(new String[]{"2025-01-01T10:00", "2"}));
+        verify(listRepository).findFirstItemRows(List.of(2L), 10);
+    }
 
-        assertThat(result, is(empty()));
-        verify(listRepository).findByUserId(99L);
+    @Test
+    @DisplayName("getListsPage continúa desde el cursor y rechaza cursores inválidos")
+    void getListsPage_continuesFromCursor() {
+        String cursor = CursorCodec.encode("2025-01-01T10:00", "2");
+        when(listRepository.findNewestAfter(LocalDateTime.of(2025, 1, 1, 10, 0), 2L, Limit.of(21)))
+                .thenReturn(List.of());
+
+        CursorPageDTO<ListResponseDTO> result = listService.getListsPage(cursor, 20, 10);
+
+        assertThat(result.items(), is(empty()));
+        assertThrows(IllegalArgumentException.class, () -> listService.getListsPage("no-es-un-cursor", 20, 10));
+    }
+
+    @Test
+    @DisplayName("Los feeds recortan los elementos de cada lista y conservan el total")
+    void getListsPage_truncatesItemsAndKeepsCount() {
+        ListItemRowDTO secondItem = new ListItemRowDTO(1L, 2L, ContentType.MOVIE, "551", ApiSource.TMDB, 2048);
+        when(listRepository.findNewest(Limit.of(21))).thenReturn(List.of(testRow));
+        when(listRepository.findFirstItemRows(List.of(1L), 2)).thenReturn(List.of(
+                new ListItemPreviewDTO(testItemRow, 500L), new ListItemPreviewDTO(secondItem, 500L)));
+        when(listMapper.listRowToListResponseDto(testRow, List.of(testItemRow, secondItem), 500L))
+                .thenReturn(testResponseDTO);
+
+        CursorPageDTO<ListResponseDTO> result = listService.getListsPage(null, 20, 2);
+
+        assertThat(result.items(), contains(testResponseDTO));
+        verify(listRepository, never()).findItemRows(any());
     }
 }
@@ -10,11 +10,14 @@ import dev.ivan.reviewverso_back.file.FileStorageService;
 import dev.ivan.reviewverso_back.profile.ProfileEntity;
 import dev.ivan.reviewverso_back.user.UserEntity;
 import dev.ivan.reviewverso_back.role.RoleEntity;
+import dev.ivan.reviewverso_back.security.LoginIdentifiersChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
@@ -34,6 +37,10 @@ class RegisterServiceImplTest {
     private RoleRepository roleRepository;
     @Mock
     private FileStorageService fileStorageService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private RegisterServiceImpl registerService;
 
@@ -104,8 +111,12 @@ class RegisterServiceImplTest {
         when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(role));
         when(userRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
+        when(passwordEncoder.encode("1234")).thenReturn("hash");
+
         RegisterResponseDTO response = registerService.register(dto, null);
         assertThat(response, notNullValue());
         assertThat(response.profileImage(), nullValue());
+        verify(userRepository).save(argThat(user -> "hash".equals(user.getPassword())));
+        verify(eventPublisher).publishEvent(LoginIdentifiersChangedEvent.of("usuario", "correo@ejemplo.com"));
     }
 }
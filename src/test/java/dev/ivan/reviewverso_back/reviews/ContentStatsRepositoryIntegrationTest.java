@@ -0,0 +1,232 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import dev.ivan.reviewverso_back.file.FileStorageService;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.service.ContentStatsService;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import dev.ivan.reviewverso_back.user.service.UserServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ContentStatsService.class, UserServiceImpl.class, FileStorageService.class,
+        ContentStatsRepositoryIntegrationTest.NoCacheConfiguration.class})
+class ContentStatsRepositoryIntegrationTest {
+
+    // Aquí se prueba el agregado en base de datos; la caché tiene su propio test
+    @TestConfiguration
+    static class NoCacheConfiguration {
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @Autowired
+    private ContentStatsService contentStatsService;
+
+    @Autowired
+    private ContentStatsRepository contentStatsRepository;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Los tests sin transacción propia confirman sus filas y hay que borrarlas a mano
+    @AfterTransaction
+    void deleteCommittedRows() {
+        jdbcTemplate.update("DELETE FROM content_stats");
+    }
+
+    @Test
+    @DisplayName("Un contenido sin reseñas devuelve estadísticas vacías sin crear fila")
+    void emptyContent_returnsZeroes() {
+        ContentStatsDTO stats = contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+
+        assertThat(stats.averageRating(), is(0.0));
+        assertThat(stats.totalReviews(), is(0L));
+        assertThat(stats.ratingDistribution().values(), everyItem(is(0L)));
+        assertThat(contentStatsRepository.count(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Altas, cambios y bajas mantienen suma, total e histograma")
+    void incrementalChanges_keepAggregateInSync() {
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 4.0);
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 2.0);
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 4.6);
+        contentStatsService.reviewAdded(ContentType.SERIES, "MOV1", 1.0);
+        contentStatsService.ratingChanged(ContentType.MOVIE, "MOV1", 2.0, 3.0);
+        contentStatsService.reviewRemoved(ContentType.MOVIE, "MOV1", 4.6);
+        entityManager.clear();
+
+        ContentStatsDTO stats = contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+
+        assertThat(stats.totalReviews(), is(2L));
+        assertThat(stats.averageRating(), closeTo(3.5, 1e-9));
+        assertThat(stats.ratingDistribution().get(3), is(1L));
+        assertThat(stats.ratingDistribution().get(4), is(1L));
+        assertThat(stats.ratingDistribution().get(2), is(0L));
+        assertThat(stats.ratingDistribution().get(5), is(0L));
+        assertThat(contentStatsService.getStats(ContentType.SERIES, "MOV1").totalReviews(), is(1L));
+    }
+
+    @Test
+    @DisplayName("La consulta por lotes devuelve una entrada por contenido distinto en el orden pedido")
+    void batchStats_returnsOneEntryPerKeyInOrder() {
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 4.0);
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV2", 5.0);
+        contentStatsService.reviewAdded(ContentType.SERIES, "MOV1", 1.0);
+        entityManager.clear();
+
+        List<ContentStatsDTO> stats = contentStatsService.getStats(List.of(
+                new ContentKeyDTO(ContentType.SERIES, "MOV1"),
+                new ContentKeyDTO(ContentType.MOVIE, "SIN_RESENAS"),
+                new ContentKeyDTO(ContentType.MOVIE, "MOV2"),
+                new ContentKeyDTO(ContentType.MOVIE, "MOV2")));
+
+        assertThat(stats, hasSize(3));
+        assertThat(stats.get(0).contentType(), is(ContentType.SERIES));
+        assertThat(stats.get(0).averageRating(), is(1.0));
+        assertThat(stats.get(1).totalReviews(), is(0L));
+        assertThat(stats.get(2).contentId(), is("MOV2"));
+        assertThat(stats.get(2).ratingDistribution().get(5), is(1L));
+    }
+
+    @Test
+    @DisplayName("Borrar un usuario descuenta sus reseñas, borradas en cascada, de las estadísticas")
+    void deleteUser_removesTheirReviewsFromStats() {
+        UserEntity leaving = saveUser("seva");
+        UserEntity staying = saveUser("sequeda");
+        addReview(leaving, "MOV1", 5.0);
+        addReview(leaving, "MOV2", 1.0);
+        addReview(staying, "MOV1", 3.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        userService.deleteEntity(leaving.getIdUser());
+        entityManager.flush();
+        entityManager.clear();
+
+        ContentStatsDTO mov1 = contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+        assertThat(mov1.totalReviews(), is(1L));
+        assertThat(mov1.averageRating(), is(3.0));
+        assertThat(mov1.ratingDistribution().get(5), is(0L));
+        assertThat(contentStatsService.getStats(ContentType.MOVIE, "MOV2").totalReviews(), is(0L));
+        assertThat(reviewRepository.count(), is(1L));
+    }
+
+    private UserEntity saveUser(String userName) {
+        return userRepository.save(UserEntity.builder()
+                .userName(userName)
+                .email(userName + "@example.com")
+                .password("pass")
+                .build());
+    }
+
+    // Como ReviewServiceImpl.createEntity: la reseña y su alta en el agregado en la misma transacción
+    private void addReview(UserEntity user, String contentId, double rating) {
+        reviewRepository.save(ReviewEntity.builder()
+                .user(user)
+                .contentType(ContentType.MOVIE)
+                .contentId(contentId)
+                .apiSource(ApiSource.TMDB)
+                .reviewTitle("Título " + contentId)
+                .reviewText("Texto de la reseña " + contentId)
+                .rating(rating)
+                .build());
+        contentStatsService.reviewAdded(ContentType.MOVIE, contentId, rating);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("La fila de un contenido nuevo se crea en la transacción de la reseña y se deshace con ella")
+    void firstReview_rollsBackWithReviewTransaction() {
+        TransactionTemplate reviewTransaction = new TransactionTemplate(transactionManager);
+
+        reviewTransaction.executeWithoutResult(status -> {
+            contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 4.0);
+            status.setRollbackOnly();
+        });
+
+        assertThat(contentStatsRepository.count(), is(0L));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Dos primeras reseñas simultáneas del mismo contenido cuentan las dos sin fallar")
+    void concurrentFirstReviews_bothCount() throws Exception {
+        TransactionTemplate reviewTransaction = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String contentId = "CONC" + round;
+                CyclicBarrier start = new CyclicBarrier(2);
+                List<Future<?>> reviews = new ArrayList<>();
+                for (double rating : new double[]{2.0, 4.0}) {
+                    reviews.add(executor.submit(() -> {
+                        start.await(5, TimeUnit.SECONDS);
+                        reviewTransaction.executeWithoutResult(status ->
+                                contentStatsService.reviewAdded(ContentType.MOVIE, contentId, rating));
+                        return null;
+                    }));
+                }
+                for (Future<?> review : reviews) {
+                    review.get(10, TimeUnit.SECONDS);
+                }
+
+                ContentStatsDTO stats = contentStatsService.getStats(ContentType.MOVIE, contentId);
+                assertThat(stats.totalReviews(), is(2L));
+                assertThat(stats.averageRating(), is(3.0));
+            }
+        } finally {
+            executor.shutdownNow();
+            deleteCommittedRows();
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package dev.ivan.reviewverso_back.reviews;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewRequestDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.enums.ReviewSort;
 import dev.ivan.reviewverso_back.reviews.service.ReviewService;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -41,7 +46,7 @@ class ReviewControllerTest {
     private ReviewService reviewService;
 
     @MockBean
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -78,7 +83,7 @@ class ReviewControllerTest {
     }
 
     @Test
-    @DisplayName("GET /reviews retorna lista de todas las reseñas")
+    @DisplayName("GET /reviews retorna la primera página del feed de reseñas")
     void getAllReviews_returnsList() throws Exception {
         ReviewResponseDTO review1 = new ReviewResponseDTO(
                 1L, 2L, "usuario1", null,
@@ -92,18 +97,38 @@ class ReviewControllerTest {
                 "Libro genial", "Muy buena lectura", 5.0,
                 LocalDateTime.now(), LocalDateTime.now(), 0, false);
         
-        when(reviewService.getEntities()).thenReturn(List.of(review1, review2));
+        when(reviewService.getReviewFeed(ReviewSort.NEWEST, null, 20))
+                .thenReturn(new CursorPageDTO<>(List.of(review1, review2), "next-cursor", true));
 
         mockMvc.perform(get("/api/v1/reviews"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].idReview", is(1)))
-                .andExpect(jsonPath("$[0].userName", is("usuario1")))
-                .andExpect(jsonPath("$[0].likeCount", is(3)))
-                .andExpect(jsonPath("$[0].likedByCurrentUser", is(true)))
-                .andExpect(jsonPath("$[1].contentType", is("BOOK")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].idReview", is(1)))
+                .andExpect(jsonPath("$.items[0].userName", is("usuario1")))
+                .andExpect(jsonPath("$.items[0].likeCount", is(3)))
+                .andExpect(jsonPath("$.items[0].likedByCurrentUser", is(true)))
+                .andExpect(jsonPath("$.items[1].contentType", is("BOOK")))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")))
+                .andExpect(jsonPath("$.hasNext", is(true)));
         
-        verify(reviewService, times(1)).getEntities();
+        verify(reviewService, times(1)).getReviewFeed(ReviewSort.NEWEST, null, 20);
+    }
+
+    @Test
+    @DisplayName("GET /reviews pasa orden, cursor y tamaño de página al servicio")
+    void getAllReviews_forwardsPagingParams() throws Exception {
+        when(reviewService.getReviewFeed(ReviewSort.TOP_RATED, "abc", 5))
+                .thenReturn(new CursorPageDTO<>(List.of(), null, false));
+
+        mockMvc.perform(get("/api/v1/reviews")
+                .param("sort", "TOP_RATED")
+                .param("cursor", "abc")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(reviewService, times(1)).getReviewFeed(ReviewSort.TOP_RATED, "abc", 5);
     }
 
     @Test
@@ -211,8 +236,8 @@ class ReviewControllerTest {
     @Test
     @DisplayName("GET /reviews/content/stats retorna estadísticas del contenido")
     void getContentStats_returnsStats() throws Exception {
-        when(reviewService.getAverageRatingByContent(ContentType.MOVIE, "MOV123")).thenReturn(4.3);
-        when(reviewService.getTotalReviewsByContent(ContentType.MOVIE, "MOV123")).thenReturn(5L);
+        when(reviewService.getContentStats(ContentType.MOVIE, "MOV123")).thenReturn(
+                new ContentStatsDTO(ContentType.MOVIE, "MOV123", 4.3, 5L, Map.of(4, 3L, 5, 2L)));
 
         mockMvc.perform(get("/api/v1/reviews/content/stats")
                 .param("contentType", "MOVIE")
@@ -221,10 +246,32 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.contentType", is("MOVIE")))
                 .andExpect(jsonPath("$.contentId", is("MOV123")))
                 .andExpect(jsonPath("$.averageRating", is(4.3)))
-                .andExpect(jsonPath("$.totalReviews", is(5)));
+                .andExpect(jsonPath("$.totalReviews", is(5)))
+                .andExpect(jsonPath("$.ratingDistribution.4", is(3)));
         
-        verify(reviewService, times(1)).getAverageRatingByContent(ContentType.MOVIE, "MOV123");
-        verify(reviewService, times(1)).getTotalReviewsByContent(ContentType.MOVIE, "MOV123");
+        verify(reviewService, times(1)).getContentStats(ContentType.MOVIE, "MOV123");
+    }
+
+    @Test
+    @DisplayName("POST /reviews/content/stats/batch retorna las estadísticas de varios contenidos")
+    void getContentStatsBatch_returnsStats() throws Exception {
+        List<ContentKeyDTO> keys = List.of(
+                new ContentKeyDTO(ContentType.MOVIE, "MOV123"),
+                new ContentKeyDTO(ContentType.BOOK, "BOOK1"));
+        when(reviewService.getContentStats(keys)).thenReturn(List.of(
+                new ContentStatsDTO(ContentType.MOVIE, "MOV123", 4.3, 5L, Map.of(4, 3L, 5, 2L)),
+                new ContentStatsDTO(ContentType.BOOK, "BOOK1", 0.0, 0L, Map.of())));
+
+        mockMvc.perform(post("/api/v1/reviews/content/stats/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(keys)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].averageRating", is(4.3)))
+                .andExpect(jsonPath("$[1].contentId", is("BOOK1")))
+                .andExpect(jsonPath("$[1].totalReviews", is(0)));
+
+        verify(reviewService, times(1)).getContentStats(keys);
     }
 
     @Test
@@ -235,13 +282,13 @@ class ReviewControllerTest {
                 .userName("usuario1")
                 .build();
         
-        when(userRepository.findByUserName("usuario1")).thenReturn(Optional.of(mockUser));
-        doNothing().when(reviewService).likeReview(eq(1L), any(UserEntity.class));
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(mockUser);
+        when(reviewService.likeReview(eq(1L), any(UserEntity.class))).thenReturn(true);
 
         mockMvc.perform(post("/api/v1/reviews/1/like"))
                 .andExpect(status().isOk());
         
-        verify(userRepository, times(1)).findByUserName("usuario1");
+        verify(currentUserResolver, times(1)).getCurrentUserReference();
         verify(reviewService, times(1)).likeReview(eq(1L), any(UserEntity.class));
     }
 
@@ -253,16 +300,31 @@ class ReviewControllerTest {
                 .userName("usuario1")
                 .build();
         
-        when(userRepository.findByUserName("usuario1")).thenReturn(Optional.of(mockUser));
-        doNothing().when(reviewService).unlikeReview(eq(1L), any(UserEntity.class));
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(mockUser);
+        when(reviewService.unlikeReview(eq(1L), any(UserEntity.class))).thenReturn(true);
 
         mockMvc.perform(delete("/api/v1/reviews/1/like"))
                 .andExpect(status().isOk());
         
-        verify(userRepository, times(1)).findByUserName("usuario1");
+        verify(currentUserResolver, times(1)).getCurrentUserReference();
         verify(reviewService, times(1)).unlikeReview(eq(1L), any(UserEntity.class));
     }
 
+    @Test
+    @DisplayName("POST /reviews/{id}/like responde 204 si el like ya existía")
+    void likeReview_alreadyLiked_returnsNoContent() throws Exception {
+        UserEntity mockUser = UserEntity.builder()
+                .idUser(1L)
+                .userName("usuario1")
+                .build();
+
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(mockUser);
+        when(reviewService.likeReview(eq(1L), any(UserEntity.class))).thenReturn(false);
+
+        mockMvc.perform(post("/api/v1/reviews/1/like"))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     @DisplayName("GET /reviews responde con likeCount correcto para cada reseña")
     void getAllReviews_includesCorrectLikeCount() throws Exception {
@@ -278,13 +340,14 @@ class ReviewControllerTest {
                 "Libro", "Excelente", 5.0,
                 LocalDateTime.now(), LocalDateTime.now(), 0, false);
         
-        when(reviewService.getEntities()).thenReturn(List.of(review1, review2));
+        when(reviewService.getReviewFeed(ReviewSort.NEWEST, null, 20))
+                .thenReturn(new CursorPageDTO<>(List.of(review1, review2), null, false));
 
         mockMvc.perform(get("/api/v1/reviews"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].likeCount", is(10)))
-                .andExpect(jsonPath("$[0].likedByCurrentUser", is(true)))
-                .andExpect(jsonPath("$[1].likeCount", is(0)))
-                .andExpect(jsonPath("$[1].likedByCurrentUser", is(false)));
+                .andExpect(jsonPath("$.items[0].likeCount", is(10)))
+                .andExpect(jsonPath("$.items[0].likedByCurrentUser", is(true)))
+                .andExpect(jsonPath("$.items[1].likeCount", is(0)))
+                .andExpect(jsonPath("$.items[1].likedByCurrentUser", is(false)));
     }
 }
@@ -0,0 +1,261 @@
+package dev.ivan.reviewverso_back.reviews;
+
+import dev.ivan.reviewverso_back.profile.ProfileEntity;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRowDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.service.ReviewLikeCounter;
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ReviewLikeCounter.class)
+class ReviewRepositoryIntegrationTest {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReviewLikeCounter reviewLikeCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity author;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(UserEntity.builder()
+                .userName("autor")
+                .email("autor@example.com")
+                .password("pass")
+                .build());
+    }
+
+    private ReviewEntity saveReview(String contentId, double rating) {
+        return reviewRepository.save(ReviewEntity.builder()
+                .user(author)
+                .contentType(ContentType.MOVIE)
+                .contentId(contentId)
+                .apiSource(ApiSource.TMDB)
+                .reviewTitle("Título " + contentId)
+                .reviewText("Texto de la reseña " + contentId)
+                .rating(rating)
+                .build());
+    }
+
+    @Test
+    @DisplayName("El feed NEWEST recorre todas las reseñas por keyset sin repetir ni saltar filas")
+    void newestFeed_walksAllPages() {
+        for (int i = 0; i < 5; i++) {
+            saveReview("MOV" + i, 3.0);
+        }
+        List<Long> expected = reviewRepository.findAll().stream()
+                .sorted(Comparator.comparing(ReviewEntity::getCreatedAt)
+                        .thenComparing(ReviewEntity::getIdReview).reversed())
+                .map(ReviewEntity::getIdReview)
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        List<ReviewRowDTO> page = reviewRepository.findNewest(Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(r -> walked.add(r.idReview()));
+            ReviewRowDTO last = page.get(page.size() - 1);
+            page = reviewRepository.findNewestAfter(last.createdAt(), last.idReview(), Limit.of(2));
+        }
+
+        assertThat(walked, is(expected));
+    }
+
+    @Test
+    @DisplayName("El feed TOP_RATED desempata por id cuando las valoraciones coinciden")
+    void topRatedFeed_breaksTiesById() {
+        ReviewEntity low = saveReview("MOV1", 2.0);
+        ReviewEntity tieA = saveReview("MOV2", 4.5);
+        ReviewEntity tieB = saveReview("MOV3", 4.5);
+        ReviewEntity top = saveReview("MOV4", 5.0);
+
+        List<ReviewRowDTO> first = reviewRepository.findTopRated(Limit.of(2));
+        assertThat(first.stream().map(ReviewRowDTO::idReview).toList(),
+                contains(top.getIdReview(), tieB.getIdReview()));
+
+        ReviewRowDTO last = first.get(1);
+        List<ReviewRowDTO> second = reviewRepository.findTopRatedAfter(last.rating(), last.idReview(), Limit.of(2));
+        assertThat(second.stream().map(ReviewRowDTO::idReview).toList(),
+                contains(tieA.getIdReview(), low.getIdReview()));
+    }
+
+    @Test
+    @DisplayName("reconcile repara like_count a partir de review_likes y el feed MOST_LIKED lo usa")
+    void reconcile_thenMostLikedFeed() {
+        UserEntity fan = userRepository.save(UserEntity.builder()
+                .userName("fan")
+                .email("fan@example.com")
+                .password("pass")
+                .build());
+        ReviewEntity unliked = saveReview("MOV1", 3.0);
+        ReviewEntity liked = saveReview("MOV2", 3.0);
+        liked.getLikedByUsers().add(fan);
+        reviewRepository.saveAndFlush(liked);
+
+        assertThat(reviewLikeCounter.reconcile(), is(1));
+        entityManager.clear();
+
+        List<ReviewRowDTO> first = reviewRepository.findMostLiked(Limit.of(1));
+        assertThat(first.get(0).idReview(), is(liked.getIdReview()));
+        assertThat(first.get(0).likeCount(), is(1));
+
+        List<ReviewRowDTO> second = reviewRepository.findMostLikedAfter(1, liked.getIdReview(), Limit.of(1));
+        assertThat(second.get(0).idReview(), is(unliked.getIdReview()));
+    }
+
+    @Test
+    @DisplayName("Editar una reseña no pisa el like_count volcado después de leerla")
+    void editReview_keepsFlushedLikeCount() {
+        ReviewEntity review = saveReview("MOV1", 3.0);
+        reviewRepository.flush();
+        entityManager.clear();
+        ReviewEntity managed = reviewRepository.findById(review.getIdReview()).orElseThrow();
+
+        jdbcTemplate.update("UPDATE reviews SET like_count = like_count + ? WHERE id_review = ?",
+                3, review.getIdReview());
+        managed.setReviewTitle("Título editado");
+        reviewRepository.saveAndFlush(managed);
+
+        Integer likeCount = jdbcTemplate.queryForObject(
+                "SELECT like_count FROM reviews WHERE id_review = ?", Integer.class, review.getIdReview());
+        assertThat(likeCount, is(3));
+    }
+
+    @Test
+    @DisplayName("insertLikeIfAbsent y deleteLike son idempotentes y devuelven si algo cambió")
+    void likeStatements_areIdempotent() {
+        UserEntity fan = userRepository.save(UserEntity.builder()
+                .userName("fan")
+                .email("fan@example.com")
+                .password("pass")
+                .build());
+        ReviewEntity review = saveReview("MOV1", 3.0);
+        reviewRepository.flush();
+
+        assertThat(reviewRepository.insertLikeIfAbsent(review.getIdReview(), fan.getIdUser()), is(1));
+        assertThat(reviewRepository.insertLikeIfAbsent(review.getIdReview(), fan.getIdUser()), is(0));
+        assertThat(reviewRepository.insertLikeIfAbsent(review.getIdReview() + 1000, fan.getIdUser()), is(0));
+
+        assertThat(reviewRepository.deleteLike(review.getIdReview(), fan.getIdUser()), is(1));
+        assertThat(reviewRepository.deleteLike(review.getIdReview(), fan.getIdUser()), is(0));
+    }
+
+    @Test
+    @DisplayName("review_likes tiene clave primaria (review_id, user_id) que frena likes duplicados concurrentes")
+    void reviewLikes_hasPrimaryKey() {
+        UserEntity fan = userRepository.save(UserEntity.builder()
+                .userName("fan")
+                .email("fan@example.com")
+                .password("pass")
+                .build());
+        ReviewEntity review = saveReview("MOV1", 3.0);
+        reviewRepository.flush();
+
+        String insert = "INSERT INTO review_likes (review_id, user_id) VALUES (?, ?)";
+        jdbcTemplate.update(insert, review.getIdReview(), fan.getIdUser());
+        assertThrows(DataIntegrityViolationException.class,
+            () -> jdbcTemplate.update(insert, review.getIdReview(), fan.getIdUser()));
+    }
+
+    @Test
+    @DisplayName("La proyección de lectura trae autor y perfil unidos sin cargar entidades")
+    void rowProjection_joinsUserAndProfile() {
+        UserEntity withImage = userRepository.save(UserEntity.builder()
+                .userName("conFoto")
+                .email("foto@example.com")
+                .password("pass")
+                .build());
+        entityManager.persist(ProfileEntity.builder().profileImage("foto.png").user(withImage).build());
+        ReviewEntity withoutProfile = saveReview("MOV1", 3.0);
+        ReviewEntity withProfile = reviewRepository.save(ReviewEntity.builder()
+                .user(withImage)
+                .contentType(ContentType.MOVIE)
+                .contentId("MOV1")
+                .apiSource(ApiSource.TMDB)
+                .reviewTitle("Con foto")
+                .reviewText("Texto de la reseña con foto")
+                .rating(4.0)
+                .build());
+        reviewRepository.flush();
+        entityManager.clear();
+
+        List<ReviewRowDTO> rows = reviewRepository.findRowsByContent(ContentType.MOVIE, "MOV1");
+
+        assertThat(rows, hasSize(2));
+        ReviewRowDTO row = reviewRepository.findRowById(withProfile.getIdReview()).orElseThrow();
+        assertThat(row.userName(), is("conFoto"));
+        assertThat(row.profileImage(), is("foto.png"));
+        assertThat(row.likeCount(), is(0));
+        ReviewRowDTO noProfile = reviewRepository.findRowById(withoutProfile.getIdReview()).orElseThrow();
+        assertThat(noProfile.userName(), is("autor"));
+        assertThat(noProfile.profileImage(), is(nullValue()));
+        assertThat(reviewRepository.findRowsByUserId(author.getIdUser()), hasSize(1));
+        assertThat(entityManager.contains(withProfile), is(false));
+    }
+
+    @Test
+    @DisplayName("La restricción única impide una segunda reseña del mismo usuario al mismo contenido")
+    void uniqueConstraint_rejectsDuplicateReview() {
+        saveReview("MOV1", 3.0);
+        reviewRepository.flush();
+
+        assertThrows(DataIntegrityViolationException.class, () -> reviewRepository.saveAndFlush(ReviewEntity.builder()
+                .user(author)
+                .contentType(ContentType.MOVIE)
+                .contentId("MOV1")
+                .apiSource(ApiSource.TMDB)
+                .reviewTitle("Otra vez")
+                .reviewText("Segunda reseña del mismo contenido")
+                .rating(1.0)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Las búsquedas por contenido y por usuario usan índices en el plan de H2")
+    void hotLookups_useIndexes() {
+        String byContent = explain("SELECT * FROM reviews WHERE content_type = 'MOVIE' AND content_id = 'MOV1'");
+        String byUserAndContent = explain(
+                "SELECT 1 FROM reviews WHERE user_id = 1 AND content_type = 'MOVIE' AND content_id = 'MOV1'");
+        String byUser = explain("SELECT * FROM reviews WHERE user_id = 1");
+
+        assertThat(byContent, containsStringIgnoringCase("idx_reviews_content"));
+        assertThat(byUserAndContent, containsStringIgnoringCase("uk_reviews_user_content"));
+        assertThat(byUser, not(containsStringIgnoringCase("tableScan")));
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -1,5 +1,6 @@
 package dev.ivan.reviewverso_back.reviews.dtos;
 
+import dev.ivan.reviewverso_back.globals.LongHashSet;
 import dev.ivan.reviewverso_back.reviews.ReviewEntity;
 import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,30 +53,35 @@ class ReviewMapperTest {
         assertEquals(ContentType.MOVIE, dto.contentType());
     }
 
-        @Test
-        void testReviewEntityToReviewResponseDTO_likeCount_and_likedByCurrentUser() {
-                UserEntity user1 = UserEntity.builder().idUser(1L).userName("user1").build();
-                UserEntity user2 = UserEntity.builder().idUser(2L).userName("user2").build();
-                UserEntity user3 = UserEntity.builder().idUser(3L).userName("user3").build();
-                ReviewEntity review = ReviewEntity.builder().idReview(100L).user(user1).build();
-                review.getLikedByUsers().add(user2);
-                review.getLikedByUsers().add(user3);
-
-                // When currentUser is user2, likedByCurrentUser should be true
-                ReviewResponseDTO dtoLiked = reviewMapper.reviewEntityToReviewResponseDTO(review, user2);
-                assertEquals(2, dtoLiked.likeCount());
-                assertTrue(dtoLiked.likedByCurrentUser());
-
-                // When currentUser is user1 (author, not in likedByUsers), likedByCurrentUser should be false
-                ReviewResponseDTO dtoNotLiked = reviewMapper.reviewEntityToReviewResponseDTO(review, user1);
-                assertEquals(2, dtoNotLiked.likeCount());
-                assertFalse(dtoNotLiked.likedByCurrentUser());
-
-                // When currentUser is null, likedByCurrentUser should be false
-                ReviewResponseDTO dtoNull = reviewMapper.reviewEntityToReviewResponseDTO(review, null);
-                assertEquals(2, dtoNull.likeCount());
-                assertFalse(dtoNull.likedByCurrentUser());
-        }
+    @Test
+    void testReviewEntityToReviewResponseDTO_likeCount_and_likedByCurrentUser() {
+        UserEntity user1 = UserEntity.builder().idUser(1L).userName("user1").build();
+        ReviewEntity review = ReviewEntity.builder().idReview(100L).user(user1).likeCount(2).likedByUsers(null).build();
+
+        // The review is in the current user's liked set
+        ReviewResponseDTO dtoLiked = reviewMapper.reviewEntityToReviewResponseDTO(review, LongHashSet.of(List.of(100L, 7L)));
+        assertEquals(2, dtoLiked.likeCount());
+        assertTrue(dtoLiked.likedByCurrentUser());
+
+        // The current user liked other reviews of the page, not this one
+        ReviewResponseDTO dtoNotLiked = reviewMapper.reviewEntityToReviewResponseDTO(review, LongHashSet.of(List.of(7L)));
+        assertEquals(2, dtoNotLiked.likeCount());
+        assertFalse(dtoNotLiked.likedByCurrentUser());
+
+        // Anonymous request
+        ReviewResponseDTO dtoAnonymous = reviewMapper.reviewEntityToReviewResponseDTO(review);
+        assertEquals(2, dtoAnonymous.likeCount());
+        assertFalse(dtoAnonymous.likedByCurrentUser());
+    }
+
+    @Test
+    void testReviewEntityToReviewResponseDTO_likeCountFromColumnWithoutLoadingLikers() {
+        UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
+        ReviewEntity review = ReviewEntity.builder().idReview(100L).user(user).likeCount(7).likedByUsers(null).build();
+
+        ReviewResponseDTO dto = reviewMapper.reviewEntityToReviewResponseDTO(review);
+        assertEquals(7, dto.likeCount());
+    }
 
     @Test
     void testReviewEntityToReviewResponseDTO_noProfileImage() {
@@ -149,4 +156,24 @@ class ReviewMapperTest {
         assertEquals("Me encantó la trama y los personajes.", entity.getReviewText());
         assertEquals(4.0, entity.getRating());
     }
+
+    @Test
+    void testReviewRowToReviewResponseDTO() {
+        LocalDateTime now = LocalDateTime.now();
+        ReviewRowDTO row = new ReviewRowDTO(5L, 1L, "user1", "foto.png", ContentType.MOVIE, "MOV1", ApiSource.TMDB,
+                "Título", "Texto de la reseña", 4.5, now, now, 3);
+
+        ReviewResponseDTO liked = reviewMapper.reviewRowToReviewResponseDTO(row, LongHashSet.of(List.of(5L)));
+        assertEquals(5L, liked.idReview());
+        assertEquals("user1", liked.userName());
+        assertEquals(BASE_URL + "/api/v1/files/images/foto.png", liked.userProfileImageUrl());
+        assertEquals(3, liked.likeCount());
+        assertTrue(liked.likedByCurrentUser());
+
+        ReviewRowDTO withoutImage = new ReviewRowDTO(6L, 1L, "user1", null, ContentType.MOVIE, "MOV1", ApiSource.TMDB,
+                "Título", "Texto de la reseña", 4.5, now, now, 0);
+        ReviewResponseDTO dto = reviewMapper.reviewRowToReviewResponseDTO(withoutImage, LongHashSet.of(List.of(5L)));
+        assertEquals(BASE_URL + "/api/v1/files/images/default.png", dto.userProfileImageUrl());
+        assertFalse(dto.likedByCurrentUser());
+    }
 }
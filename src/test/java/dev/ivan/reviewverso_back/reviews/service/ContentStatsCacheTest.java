@@ -0,0 +1,93 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
+import dev.ivan.reviewverso_back.reviews.ContentStatsEntity;
+import dev.ivan.reviewverso_back.reviews.ContentStatsId;
+import dev.ivan.reviewverso_back.reviews.ContentStatsRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfiguration.class, ContentStatsService.class, ContentStatsCacheInvalidator.class})
+class ContentStatsCacheTest {
+
+    private static final ContentStatsId MOV1 = new ContentStatsId(ContentType.MOVIE, "MOV1");
+    private static final ContentStatsId MOV2 = new ContentStatsId(ContentType.MOVIE, "MOV2");
+
+    @MockBean
+    private ContentStatsRepository contentStatsRepository;
+
+    @Autowired
+    private ContentStatsService contentStatsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfiguration.CONTENT_STATS_CACHE).clear();
+        when(contentStatsRepository.findById(MOV1)).thenReturn(Optional.of(stats(MOV1, 8.0, 2L)));
+        when(contentStatsRepository.findById(MOV2)).thenReturn(Optional.of(stats(MOV2, 5.0, 1L)));
+    }
+
+    @Test
+    @DisplayName("Las lecturas repetidas de un contenido se sirven desde la caché")
+    void repeatedReads_hitCache() {
+        contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+        ContentStatsDTO stats = contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+
+        assertThat(stats.averageRating(), is(4.0));
+        verify(contentStatsRepository, times(1)).findById(MOV1);
+    }
+
+    @Test
+    @DisplayName("Un cambio en las reseñas invalida solo la entrada de ese contenido")
+    void reviewChange_evictsOnlyThatContent() {
+        contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+        contentStatsService.getStats(ContentType.MOVIE, "MOV2");
+
+        contentStatsService.reviewAdded(ContentType.MOVIE, "MOV1", 3.0);
+        contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+        contentStatsService.getStats(ContentType.MOVIE, "MOV2");
+
+        verify(contentStatsRepository, times(2)).findById(MOV1);
+        verify(contentStatsRepository, times(1)).findById(MOV2);
+    }
+
+    @Test
+    @DisplayName("La consulta por lotes reutiliza la caché y solo pide los contenidos que faltan")
+    void batchRead_onlyQueriesMisses() {
+        contentStatsService.getStats(ContentType.MOVIE, "MOV1");
+        when(contentStatsRepository.findAllByIds(Set.of(MOV2))).thenReturn(List.of(stats(MOV2, 5.0, 1L)));
+
+        List<ContentStatsDTO> stats = contentStatsService.getStats(List.of(
+                new ContentKeyDTO(ContentType.MOVIE, "MOV1"),
+                new ContentKeyDTO(ContentType.MOVIE, "MOV2")));
+
+        assertThat(stats.stream().map(ContentStatsDTO::averageRating).toList(), contains(4.0, 5.0));
+        verify(contentStatsRepository).findAllByIds(Set.of(MOV2));
+
+        contentStatsService.getStats(ContentType.MOVIE, "MOV2");
+        verify(contentStatsRepository, never()).findById(MOV2);
+    }
+
+    private static ContentStatsEntity stats(ContentStatsId id, double ratingSum, long reviewCount) {
+        return ContentStatsEntity.builder().id(id).ratingSum(ratingSum).reviewCount(reviewCount).build();
+    }
+}
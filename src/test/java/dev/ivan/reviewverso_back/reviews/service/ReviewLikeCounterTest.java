@@ -0,0 +1,192 @@
+package dev.ivan.reviewverso_back.reviews.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReviewLikeCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ReviewLikeCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counter = new ReviewLikeCounter(jdbcTemplate, 1000);
+        when(jdbcTemplate.queryForObject(contains("MIN(id_review)"), any(RowMapper.class)))
+                .thenReturn(new long[] { 0, 0 });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("flush agrupa los deltas por reseña en un único batch")
+    void flush_groupsDeltasPerReview() {
+        counter.increment(1L, () -> true);
+        counter.increment(1L, () -> true);
+        counter.increment(2L, () -> true);
+        counter.decrement(2L, () -> true);
+        counter.decrement(3L, () -> true);
+
+        int flushed = counter.flush();
+
+        assertThat(flushed, is(2));
+        List<Object[]> batch = captureBatch();
+        assertThat(batch, containsInAnyOrder(
+                arrayContaining((Object) 2L, 1L),
+                arrayContaining((Object) (-1L), 3L)));
+    }
+
+    @Test
+    @DisplayName("flush no toca la base de datos si no hay deltas pendientes")
+    void flush_noPendingDeltas() {
+        assertThat(counter.flush(), is(0));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("flush conserva los deltas si el batch falla")
+    void flush_requeuesOnFailure() {
+        counter.increment(1L, () -> true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db caída"));
+
+        assertThrows(RuntimeException.class, () -> counter.flush());
+
+        reset(jdbcTemplate);
+        assertThat(counter.flush(), is(1));
+        assertThat(captureBatch().get(0), arrayContaining((Object) 1L, 1L));
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción el delta solo se acumula tras el commit")
+    void record_waitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.increment(1L, () -> true);
+            assertThat(counter.flush(), is(0));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> {
+                sync.afterCommit();
+                sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(counter.flush(), is(1));
+    }
+
+    @Test
+    @DisplayName("Sin fila escrita no se acumula delta")
+    void increment_skipsWhenNothingWritten() {
+        assertThat(counter.increment(1L, () -> false), is(false));
+
+        assertThat(counter.flush(), is(0));
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción que hace rollback el delta se descarta")
+    void record_discardsOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.increment(1L, () -> true);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(counter.flush(), is(0));
+    }
+
+    @Test
+    @DisplayName("reconcile espera a que el like en curso acumule su delta y lo vuelca antes de recalcular")
+    void reconcile_waitsForLikeInProgress() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread like = new Thread(() -> counter.increment(7L, () -> {
+            written.countDown();
+            await(release);
+            return true;
+        }));
+        like.start();
+        assertThat(written.await(5, TimeUnit.SECONDS), is(true));
+
+        CompletableFuture<Integer> reconcile = CompletableFuture.supplyAsync(counter::reconcile);
+        Thread.sleep(100);
+        assertThat(reconcile.isDone(), is(false));
+
+        release.countDown();
+        reconcile.get(5, TimeUnit.SECONDS);
+        like.join();
+
+        assertThat(captureBatch().get(0), arrayContaining((Object) 1L, 7L));
+        assertThat(counter.flush(), is(0));
+    }
+
+    @Test
+    @DisplayName("reconcile vuelca lo pendiente antes de recalcular like_count")
+    void reconcile_flushesFirst() {
+        counter.increment(5L, () -> true);
+        List<Object[]> drift = List.<Object[]>of(new Object[] { 2L, 5L });
+        when(jdbcTemplate.query(contains("review_likes"), any(RowMapper.class), anyLong(), anyLong()))
+                .thenReturn(drift);
+
+        int repaired = counter.reconcile();
+
+        assertThat(repaired, is(1));
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("like_count + ?"), anyList());
+        inOrder.verify(jdbcTemplate).query(contains("review_likes"), any(RowMapper.class), anyLong(), anyLong());
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("like_count = ?"), eq(drift));
+    }
+
+    @Test
+    @DisplayName("reconcile recorre las reseñas por tramos de id y suma lo reparado en cada uno")
+    void reconcile_walksIdRangeInChunks() {
+        counter = new ReviewLikeCounter(jdbcTemplate, 10);
+        when(jdbcTemplate.queryForObject(contains("MIN(id_review)"), any(RowMapper.class)))
+                .thenReturn(new long[] { 1, 25 });
+        when(jdbcTemplate.query(contains("review_likes"), any(RowMapper.class), anyLong(), anyLong()))
+                .thenReturn(List.<Object[]>of(new Object[] { 0L, 3L }), List.of(),
+                        List.<Object[]>of(new Object[] { 4L, 21L }, new Object[] { 1L, 25L }));
+
+        int repaired = counter.reconcile();
+
+        assertThat(repaired, is(3));
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).query(contains("review_likes"), any(RowMapper.class), eq(1L), eq(11L));
+        inOrder.verify(jdbcTemplate).query(contains("review_likes"), any(RowMapper.class), eq(11L), eq(21L));
+        inOrder.verify(jdbcTemplate).query(contains("review_likes"), any(RowMapper.class), eq(21L), eq(31L));
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("like_count = ?"), anyList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,27 +1,39 @@
 package dev.ivan.reviewverso_back.reviews.service;
 
+import dev.ivan.reviewverso_back.globals.CursorCodec;
+import dev.ivan.reviewverso_back.globals.CursorPageDTO;
 import dev.ivan.reviewverso_back.reviews.ReviewEntity;
 import dev.ivan.reviewverso_back.reviews.ReviewRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentKeyDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ContentStatsDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewMapper;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewRequestDTO;
 import dev.ivan.reviewverso_back.reviews.dtos.ReviewResponseDTO;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRowDTO;
 import dev.ivan.reviewverso_back.reviews.enums.ApiSource;
 import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.enums.ReviewSort;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import dev.ivan.reviewverso_back.user.UserEntity;
-import dev.ivan.reviewverso_back.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -32,75 +44,118 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 class ReviewServiceImplTest {
     @Test
-    @DisplayName("likeReview adds user to likedByUsers if not already present")
-    void likeReview_addsUser() {
+    @DisplayName("likeReview inserta el like sin cargar la colección y acumula el contador")
+    void likeReview_insertsLike() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
-        ReviewEntity review = ReviewEntity.builder().idReview(100L).likedByUsers(new java.util.HashSet<>()).build();
-        when(reviewRepository.findById(100L)).thenReturn(Optional.of(review));
-        when(reviewRepository.save(review)).thenReturn(review);
+        when(reviewRepository.insertLikeIfAbsent(100L, 1L)).thenReturn(1);
+
+        boolean changed = reviewService.likeReview(100L, user);
 
-        reviewService.likeReview(100L, user);
-        assertThat(review.getLikedByUsers(), contains(user));
-        verify(reviewRepository).save(review);
+        assertThat(changed, is(true));
+        verify(reviewLikeCounter).increment(eq(100L), any());
+        verify(reviewRepository, never()).findById(any());
+        verify(reviewRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("likeReview does nothing if user already liked")
+    @DisplayName("likeReview no cambia nada si el usuario ya había dado like")
     void likeReview_noDuplicate() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
-        java.util.Set<UserEntity> likes = new java.util.HashSet<>();
-        likes.add(user);
-        ReviewEntity review = ReviewEntity.builder().idReview(101L).likedByUsers(likes).build();
-        when(reviewRepository.findById(101L)).thenReturn(Optional.of(review));
+        when(reviewRepository.insertLikeIfAbsent(101L, 1L)).thenReturn(0);
+        when(reviewRepository.existsById(101L)).thenReturn(true);
 
-        reviewService.likeReview(101L, user);
-        assertThat(review.getLikedByUsers().size(), is(1));
-        verify(reviewRepository, never()).save(any());
+        boolean changed = reviewService.likeReview(101L, user);
+
+        assertThat(changed, is(false));
     }
 
     @Test
-    @DisplayName("unlikeReview removes user from likedByUsers if present")
-    void unlikeReview_removesUser() {
+    @DisplayName("likeReview trata el choque de clave por clicks concurrentes como like ya existente")
+    void likeReview_concurrentDuplicate() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
-        java.util.Set<UserEntity> likes = new java.util.HashSet<>();
-        likes.add(user);
-        ReviewEntity review = ReviewEntity.builder().idReview(102L).likedByUsers(likes).build();
-        when(reviewRepository.findById(102L)).thenReturn(Optional.of(review));
-        when(reviewRepository.save(review)).thenReturn(review);
+        when(reviewRepository.insertLikeIfAbsent(101L, 1L)).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new SQLException("Duplicate entry '101-1' for key 'review_likes.PRIMARY'")));
+        when(reviewRepository.existsById(101L)).thenReturn(true);
 
-        reviewService.unlikeReview(102L, user);
-        assertThat(review.getLikedByUsers(), is(empty()));
-        verify(reviewRepository).save(review);
+        boolean changed = reviewService.likeReview(101L, user);
+
+        assertThat(changed, is(false));
     }
 
     @Test
-    @DisplayName("unlikeReview does nothing if user had not liked")
-    void unlikeReview_noOpIfNotLiked() {
+    @DisplayName("likeReview no confunde la clave foránea de un usuario borrado con un like repetido")
+    void likeReview_deletedUserIsNotADuplicate() {
+        UserEntity user = UserEntity.builder().idUser(9L).userName("borrado").build();
+        when(reviewRepository.insertLikeIfAbsent(101L, 9L)).thenThrow(new DataIntegrityViolationException("fk",
+                new SQLException("Referential integrity constraint violation: \"FK_REVIEW_LIKES_USER: "
+                        + "PUBLIC.REVIEW_LIKES FOREIGN KEY(USER_ID) REFERENCES PUBLIC.USERS(ID_USER) (CAST(9 AS BIGINT))\"")));
+
+        assertThrows(UserNotFoundException.class, () -> reviewService.likeReview(101L, user));
+        verify(reviewRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("likeReview propaga las violaciones que no reconoce")
+    void likeReview_rethrowsUnknownViolations() {
+        UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
+        DataIntegrityViolationException unknown = new DataIntegrityViolationException("otra", new SQLException("value too long"));
+        when(reviewRepository.insertLikeIfAbsent(101L, 1L)).thenThrow(unknown);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> reviewService.likeReview(101L, user));
+        assertThat(thrown, is(sameInstance(unknown)));
+    }
+
+    @Test
+    @DisplayName("likeReview lanza ReviewNotFoundException si la reseña no existe")
+    void likeReview_reviewNotFound() {
+        UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
+        when(reviewRepository.insertLikeIfAbsent(99L, 1L)).thenReturn(0);
+        when(reviewRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(dev.ivan.reviewverso_back.reviews.exceptions.ReviewNotFoundException.class,
+            () -> reviewService.likeReview(99L, user));
+    }
+
+    @Test
+    @DisplayName("unlikeReview borra el like directamente y descuenta el contador")
+    void unlikeReview_removesLike() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
-        ReviewEntity review = ReviewEntity.builder().idReview(103L).likedByUsers(new java.util.HashSet<>()).build();
-        when(reviewRepository.findById(103L)).thenReturn(Optional.of(review));
+        when(reviewRepository.deleteLike(102L, 1L)).thenReturn(1);
+
+        boolean changed = reviewService.unlikeReview(102L, user);
 
-        reviewService.unlikeReview(103L, user);
-        assertThat(review.getLikedByUsers(), is(empty()));
+        assertThat(changed, is(true));
+        verify(reviewLikeCounter).decrement(eq(102L), any());
         verify(reviewRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("getEntities returns likeCount and likedByCurrentUser correctly")
-    void getEntities_likeInfo() {
+    @DisplayName("unlikeReview no cambia nada si el usuario no había dado like")
+    void unlikeReview_noOpIfNotLiked() {
+        UserEntity user = UserEntity.builder().idUser(1L).userName("user1").build();
+        when(reviewRepository.deleteLike(103L, 1L)).thenReturn(0);
+        when(reviewRepository.existsById(103L)).thenReturn(true);
+
+        boolean changed = reviewService.unlikeReview(103L, user);
+
+        assertThat(changed, is(false));
+    }
+
+    @Test
+    @DisplayName("getReviewsByContent returns likeCount and likedByCurrentUser correctly")
+    void getReviewsByContent_likeInfo() {
         UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        UserEntity otherUser = UserEntity.builder().idUser(2L).userName("user2").build();
-        ReviewEntity review = ReviewEntity.builder().idReview(200L).likedByUsers(new java.util.HashSet<>()).build();
-        review.getLikedByUsers().add(currentUser);
-        review.getLikedByUsers().add(otherUser);
-        
-        when(reviewRepository.findAll()).thenReturn(List.of(review));
-        when(userRepository.findByUserName(anyString())).thenReturn(Optional.of(currentUser));
+        ReviewRowDTO review = row(200L, LocalDateTime.now());
+
+        when(reviewRepository.findRowsByContent(ContentType.MOVIE, "MOV1")).thenReturn(List.of(review));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(currentUser.getIdUser());
+        when(reviewRepository.findLikedReviewIds(1L, List.of(200L))).thenReturn(List.of(200L));
         
         ReviewResponseDTO dto = new ReviewResponseDTO(200L, 1L, "usuario1", null, ContentType.MOVIE, "MOV1", ApiSource.TMDB, "Title", "Text", 4.0, java.time.LocalDateTime.now(), java.time.LocalDateTime.now(), 2, true);
-        lenient().when(reviewMapper.reviewEntityToReviewResponseDTO(any(), any())).thenReturn(dto);
+        lenient().when(reviewMapper.reviewRowToReviewResponseDTO(any(), any())).thenReturn(dto);
 
-        List<ReviewResponseDTO> result = reviewService.getEntities();
+        List<ReviewResponseDTO> result = reviewService.getReviewsByContent(ContentType.MOVIE, "MOV1");
         assertThat(result, hasSize(1));
         assertThat(result.get(0).likeCount(), is(2));
         assertThat(result.get(0).likedByCurrentUser(), is(true));
@@ -200,12 +255,12 @@ class ReviewServiceImplTest {
     @DisplayName("getReviewsByUserId retorna lista de reseñas del usuario")
     void getReviewsByUserId_returnsList() {
         UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        ReviewEntity r = ReviewEntity.builder().idReview(1L).build();
+        ReviewRowDTO r = row(1L, LocalDateTime.now());
         ReviewResponseDTO dto = mock(ReviewResponseDTO.class);
         
-        when(reviewRepository.findByUser_IdUser(2L)).thenReturn(List.of(r));
-        when(userRepository.findByUserName(anyString())).thenReturn(Optional.of(currentUser));
-        lenient().when(reviewMapper.reviewEntityToReviewResponseDTO(any(), any())).thenReturn(dto);
+        when(reviewRepository.findRowsByUserId(2L)).thenReturn(List.of(r));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(currentUser.getIdUser());
+        lenient().when(reviewMapper.reviewRowToReviewResponseDTO(any(), any())).thenReturn(dto);
         
         List<ReviewResponseDTO> result = reviewService.getReviewsByUserId(2L);
         assertThat(result, hasSize(1));
@@ -216,12 +271,12 @@ class ReviewServiceImplTest {
     @DisplayName("getReviewsByContent retorna lista de reseñas del contenido")
     void getReviewsByContent_returnsList() {
         UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        ReviewEntity r = ReviewEntity.builder().idReview(1L).build();
+        ReviewRowDTO r = row(1L, LocalDateTime.now());
         ReviewResponseDTO dto = mock(ReviewResponseDTO.class);
         
-        when(reviewRepository.findByContentTypeAndContentId(ContentType.MOVIE, "MOV123")).thenReturn(List.of(r));
-        when(userRepository.findByUserName(anyString())).thenReturn(Optional.of(currentUser));
-        lenient().when(reviewMapper.reviewEntityToReviewResponseDTO(any(), any())).thenReturn(dto);
+        when(reviewRepository.findRowsByContent(ContentType.MOVIE, "MOV123")).thenReturn(List.of(r));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(currentUser.getIdUser());
+        lenient().when(reviewMapper.reviewRowToReviewResponseDTO(any(), any())).thenReturn(dto);
         
         List<ReviewResponseDTO> result = reviewService.getReviewsByContent(ContentType.MOVIE, "MOV123");
         assertThat(result, hasSize(1));
@@ -231,7 +286,8 @@ class ReviewServiceImplTest {
     @Test
     @DisplayName("getAverageRatingByContent retorna el promedio correcto")
     void getAverageRatingByContent_returnsAverage() {
-        when(reviewRepository.calculateAverageRating(ContentType.MOVIE, "MOV123")).thenReturn(4.5);
+        when(contentStatsService.getStats(ContentType.MOVIE, "MOV123"))
+            .thenReturn(new ContentStatsDTO(ContentType.MOVIE, "MOV123", 4.5, 2L, Map.of()));
         Double avg = reviewService.getAverageRatingByContent(ContentType.MOVIE, "MOV123");
         assertThat(avg, is(4.5));
     }
@@ -239,28 +295,64 @@ class ReviewServiceImplTest {
     @Test
     @DisplayName("getTotalReviewsByContent retorna el total correcto")
     void getTotalReviewsByContent_returnsTotal() {
-        when(reviewRepository.countByContentTypeAndContentId(ContentType.MOVIE, "MOV123")).thenReturn(3L);
+        when(contentStatsService.getStats(ContentType.MOVIE, "MOV123"))
+            .thenReturn(new ContentStatsDTO(ContentType.MOVIE, "MOV123", 4.0, 3L, Map.of()));
         Long total = reviewService.getTotalReviewsByContent(ContentType.MOVIE, "MOV123");
         assertThat(total, is(3L));
     }
 
+    @Test
+    @DisplayName("getContentStats por lotes valida la petición antes de consultar")
+    void getContentStatsBatch_validatesKeys() {
+        List<ContentKeyDTO> tooMany = java.util.stream.IntStream.rangeClosed(0, ReviewServiceImpl.MAX_STATS_BATCH_SIZE)
+            .mapToObj(i -> new ContentKeyDTO(ContentType.MOVIE, "MOV" + i))
+            .toList();
+
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getContentStats(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getContentStats(tooMany));
+        assertThrows(IllegalArgumentException.class,
+            () -> reviewService.getContentStats(List.of(new ContentKeyDTO(null, "MOV1"))));
+        verifyNoInteractions(contentStatsService);
+
+        List<ContentKeyDTO> keys = List.of(new ContentKeyDTO(ContentType.MOVIE, "MOV1"));
+        reviewService.getContentStats(keys);
+        verify(contentStatsService).getStats(keys);
+    }
+
     @Test
     @DisplayName("createEntity lanza DuplicateReviewException si ya existe reseña")
     void createEntity_throwsDuplicateReviewException() {
         ReviewRequestDTO dto = new ReviewRequestDTO(ContentType.MOVIE, "MOV123", ApiSource.TMDB, "Titulo", "Texto suficiente", 4.0);
         UserEntity user = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        when(userRepository.findByUserName("usuario1")).thenReturn(Optional.of(user));
-        when(reviewRepository.existsByUser_IdUserAndContentTypeAndContentId(1L, ContentType.MOVIE, "MOV123")).thenReturn(true);
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(user);
+        ReviewEntity review = ReviewEntity.builder().user(user).contentType(ContentType.MOVIE).contentId("MOV123").rating(4.0).build();
+        when(reviewMapper.reviewRequestDTOToReviewEntity(dto, user)).thenReturn(review);
+        when(reviewRepository.saveAndFlush(review)).thenThrow(new DataIntegrityViolationException("duplicate",
+            new org.hibernate.exception.ConstraintViolationException("duplicate", null, "UK_REVIEWS_USER_CONTENT_INDEX_9")));
 
         Exception ex = assertThrows(dev.ivan.reviewverso_back.reviews.exceptions.DuplicateReviewException.class,
             () -> reviewService.createEntity(dto));
         assertThat(ex.getMessage(), containsString("Ya has escrito una reseña"));
     }
 
+    @Test
+    @DisplayName("createEntity no traduce a duplicado otras violaciones de integridad")
+    void createEntity_rethrowsOtherIntegrityViolations() {
+        ReviewRequestDTO dto = new ReviewRequestDTO(ContentType.MOVIE, "MOV123", ApiSource.TMDB, "Titulo", "Texto suficiente", 4.0);
+        UserEntity user = UserEntity.builder().idUser(1L).userName("usuario1").build();
+        ReviewEntity review = ReviewEntity.builder().user(user).contentType(ContentType.MOVIE).contentId("MOV123").rating(4.0).build();
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(user);
+        when(reviewMapper.reviewRequestDTOToReviewEntity(dto, user)).thenReturn(review);
+        when(reviewRepository.saveAndFlush(review)).thenThrow(new DataIntegrityViolationException("FK_REVIEWS_USER"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> reviewService.createEntity(dto));
+        verifyNoInteractions(contentStatsService);
+    }
+
     @Test
     @DisplayName("getByID lanza ReviewNotFoundException si no existe la reseña")
     void getByID_throwsReviewNotFoundException() {
-        when(reviewRepository.findById(99L)).thenReturn(Optional.empty());
+        when(reviewRepository.findRowById(99L)).thenReturn(Optional.empty());
         Exception ex = assertThrows(dev.ivan.reviewverso_back.reviews.exceptions.ReviewNotFoundException.class,
             () -> reviewService.getByID(99L));
         assertThat(ex.getMessage(), containsString("Reseña no encontrada"));
@@ -279,18 +371,48 @@ class ReviewServiceImplTest {
     @Test
     @DisplayName("deleteEntity lanza ReviewNotFoundException si no existe la reseña")
     void deleteEntity_throwsReviewNotFoundException() {
-        when(reviewRepository.existsById(99L)).thenReturn(false);
+        when(reviewRepository.findById(99L)).thenReturn(Optional.empty());
         Exception ex = assertThrows(dev.ivan.reviewverso_back.reviews.exceptions.ReviewNotFoundException.class,
             () -> reviewService.deleteEntity(99L));
         assertThat(ex.getMessage(), containsString("Reseña no encontrada"));
+        verifyNoInteractions(contentStatsService);
+    }
+
+    @Test
+    @DisplayName("deleteEntity borra la reseña y descuenta su valoración de content_stats")
+    void deleteEntity_updatesContentStats() {
+        ReviewEntity review = ReviewEntity.builder().idReview(5L).contentType(ContentType.MOVIE).contentId("MOV123").rating(3.5).build();
+        when(reviewRepository.findById(5L)).thenReturn(Optional.of(review));
+
+        reviewService.deleteEntity(5L);
+
+        verify(reviewRepository).delete(review);
+        verify(contentStatsService).reviewRemoved(ContentType.MOVIE, "MOV123", 3.5);
+    }
+
+    @Test
+    @DisplayName("updateEntity traslada el cambio de valoración a content_stats")
+    void updateEntity_updatesContentStats() {
+        ReviewEntity review = ReviewEntity.builder().idReview(5L).contentType(ContentType.MOVIE).contentId("MOV123").rating(2.0).build();
+        ReviewRequestDTO dto = new ReviewRequestDTO(null, null, null, null, null, 4.5);
+        when(reviewRepository.findById(5L)).thenReturn(Optional.of(review));
+        when(reviewRepository.save(review)).thenReturn(review);
+
+        reviewService.updateEntity(5L, dto);
+
+        verify(contentStatsService).ratingChanged(ContentType.MOVIE, "MOV123", 2.0, 4.5);
     }
     @Mock
     private ReviewRepository reviewRepository;
     @Mock
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
     @Mock
     private ReviewMapper reviewMapper;
     @Mock
+    private ReviewLikeCounter reviewLikeCounter;
+    @Mock
+    private ContentStatsService contentStatsService;
+    @Mock
     private Authentication authentication;
     @Mock
     private SecurityContext securityContext;
@@ -303,6 +425,10 @@ class ReviewServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getName()).thenReturn("usuario1");
+        when(reviewLikeCounter.increment(any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(1).getAsBoolean());
+        when(reviewLikeCounter.decrement(any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(1).getAsBoolean());
     }
 
     @Test
@@ -314,49 +440,129 @@ class ReviewServiceImplTest {
         ReviewEntity savedReview = ReviewEntity.builder().user(user).contentType(ContentType.MOVIE).contentId("MOV123").apiSource(ApiSource.TMDB).reviewTitle("Titulo").reviewText("Texto de prueba").rating(4.0).idReview(10L).createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).build();
         ReviewResponseDTO responseDTO = new ReviewResponseDTO(10L, 1L, "usuario1", null, ContentType.MOVIE, "MOV123", ApiSource.TMDB, "Titulo", "Texto de prueba", 4.0, savedReview.getCreatedAt(), savedReview.getUpdatedAt(), 0, false);
 
-        when(userRepository.findByUserName("usuario1")).thenReturn(Optional.of(user));
-        when(reviewRepository.existsByUser_IdUserAndContentTypeAndContentId(1L, ContentType.MOVIE, "MOV123")).thenReturn(false);
+        when(currentUserResolver.getCurrentUserReference()).thenReturn(user);
         when(reviewMapper.reviewRequestDTOToReviewEntity(dto, user)).thenReturn(review);
-        when(reviewRepository.save(review)).thenReturn(savedReview);
+        when(reviewRepository.saveAndFlush(review)).thenReturn(savedReview);
         when(reviewMapper.reviewEntityToReviewResponseDTO(savedReview)).thenReturn(responseDTO);
 
         ReviewResponseDTO result = reviewService.createEntity(dto);
         assertThat(result, is(responseDTO));
-        verify(reviewRepository).save(review);
-    }
-
-    @Test
-    @DisplayName("getEntities retorna lista de reseñas")
-    void getEntities_returnsList() {
-        UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        ReviewEntity r = ReviewEntity.builder().idReview(1L).build();
-        ReviewResponseDTO dto = mock(ReviewResponseDTO.class);
-        
-        when(reviewRepository.findAll()).thenReturn(List.of(r));
-        when(userRepository.findByUserName(anyString())).thenReturn(Optional.of(currentUser));
-        lenient().when(reviewMapper.reviewEntityToReviewResponseDTO(
-            any(), 
-            any())).thenReturn(dto);
-        
-        List<ReviewResponseDTO> result = reviewService.getEntities();
-        assertThat(result, hasSize(1));
-        assertThat(result.get(0), is(dto));
+        verify(reviewRepository).saveAndFlush(review);
+        verify(contentStatsService).reviewAdded(ContentType.MOVIE, "MOV123", 4.0);
     }
 
     @Test
     @DisplayName("getByID retorna la reseña esperada")
     void getByID_returnsReview() {
         UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
-        ReviewEntity r = ReviewEntity.builder().idReview(1L).build();
+        ReviewRowDTO r = row(1L, LocalDateTime.now());
         ReviewResponseDTO dto = mock(ReviewResponseDTO.class);
         
-        when(reviewRepository.findById(1L)).thenReturn(Optional.of(r));
-        when(userRepository.findByUserName(anyString())).thenReturn(Optional.of(currentUser));
-        lenient().when(reviewMapper.reviewEntityToReviewResponseDTO(
+        when(reviewRepository.findRowById(1L)).thenReturn(Optional.of(r));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(currentUser.getIdUser());
+        lenient().when(reviewMapper.reviewRowToReviewResponseDTO(
             any(), 
             any())).thenReturn(dto);
         
         ReviewResponseDTO result = reviewService.getByID(1L);
         assertThat(result, is(dto));
     }
+
+    @Test
+    @DisplayName("getReviewFeed pide una fila extra y devuelve cursor si hay más páginas")
+    void getReviewFeed_returnsNextCursorWhenMoreRows() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+        ReviewRowDTO r1 = row(3L, createdAt.plusMinutes(2));
+        ReviewRowDTO r2 = row(2L, createdAt);
+        ReviewRowDTO r3 = row(1L, createdAt.minusMinutes(2));
+        when(reviewRepository.findNewest(Limit.of(3))).thenReturn(List.of(r1, r2, r3));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(null);
+        when(reviewMapper.reviewRowToReviewResponseDTO(any(), any())).thenReturn(mock(ReviewResponseDTO.class));
+
+        CursorPageDTO<ReviewResponseDTO> page = reviewService.getReviewFeed(ReviewSort.NEWEST, null, 2);
+
+        assertThat(page.items(), hasSize(2));
+        assertThat(page.hasNext(), is(true));
+        assertThat(page.nextCursor(), is(CursorCodec.encode("NEWEST", createdAt.toString(), "2")));
+    }
+
+    @Test
+    @DisplayName("getReviewFeed continúa desde el cursor sin devolver cursor en la última página")
+    void getReviewFeed_continuesFromCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+        String cursor = CursorCodec.encode("NEWEST", createdAt.toString(), "2");
+        ReviewRowDTO r3 = row(1L, createdAt.minusMinutes(2));
+        when(reviewRepository.findNewestAfter(createdAt, 2L, Limit.of(3))).thenReturn(List.of(r3));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(null);
+        when(reviewMapper.reviewRowToReviewResponseDTO(any(), any())).thenReturn(mock(ReviewResponseDTO.class));
+
+        CursorPageDTO<ReviewResponseDTO> page = reviewService.getReviewFeed(ReviewSort.NEWEST, cursor, 2);
+
+        assertThat(page.items(), hasSize(1));
+        assertThat(page.hasNext(), is(false));
+        assertThat(page.nextCursor(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("getReviewFeed limita el tamaño de página al máximo permitido")
+    void getReviewFeed_capsPageSize() {
+        when(reviewRepository.findTopRated(Limit.of(CursorCodec.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        CursorPageDTO<ReviewResponseDTO> page = reviewService.getReviewFeed(ReviewSort.TOP_RATED, null, 10_000);
+
+        assertThat(page.items(), is(empty()));
+        verify(reviewRepository).findTopRated(Limit.of(CursorCodec.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("getReviewFeed rechaza cursores de otro orden o mal formados")
+    void getReviewFeed_rejectsInvalidCursor() {
+        String newestCursor = CursorCodec.encode("NEWEST", LocalDateTime.now().toString(), "2");
+        String badValue = CursorCodec.encode("TOP_RATED", "no-es-numero", "2");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> reviewService.getReviewFeed(ReviewSort.TOP_RATED, newestCursor, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> reviewService.getReviewFeed(ReviewSort.TOP_RATED, badValue, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> reviewService.getReviewFeed(ReviewSort.TOP_RATED, "%%%", 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> reviewService.getReviewFeed(ReviewSort.TOP_RATED, null, 0));
+    }
+
+    @Test
+    @DisplayName("Las listas resuelven likedByCurrentUser con una sola consulta por página")
+    void getReviewsByContent_resolvesLikesInOneQuery() {
+        UserEntity currentUser = UserEntity.builder().idUser(1L).userName("usuario1").build();
+        ReviewRowDTO r1 = row(10L, LocalDateTime.now());
+        ReviewRowDTO r2 = row(11L, LocalDateTime.now());
+        ReviewRowDTO r3 = row(12L, LocalDateTime.now());
+        when(reviewRepository.findRowsByContent(ContentType.MOVIE, "MOV123")).thenReturn(List.of(r1, r2, r3));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(currentUser.getIdUser());
+        when(reviewRepository.findLikedReviewIds(1L, List.of(10L, 11L, 12L))).thenReturn(List.of(11L));
+
+        reviewService.getReviewsByContent(ContentType.MOVIE, "MOV123");
+
+        verify(reviewRepository, times(1)).findLikedReviewIds(1L, List.of(10L, 11L, 12L));
+        verify(currentUserResolver, times(1)).getCurrentUserIdOrNull();
+        verify(reviewMapper).reviewRowToReviewResponseDTO(eq(r1), argThat(liked -> !liked.contains(10L)));
+        verify(reviewMapper).reviewRowToReviewResponseDTO(eq(r2), argThat(liked -> liked.contains(11L)));
+    }
+
+    @Test
+    @DisplayName("Sin usuario autenticado no se consulta review_likes")
+    void getReviewsByUserId_anonymousSkipsLikesQuery() {
+        ReviewRowDTO r1 = row(10L, LocalDateTime.now());
+        when(reviewRepository.findRowsByUserId(2L)).thenReturn(List.of(r1));
+        when(currentUserResolver.getCurrentUserIdOrNull()).thenReturn(null);
+
+        reviewService.getReviewsByUserId(2L);
+
+        verify(reviewRepository, never()).findLikedReviewIds(any(), any());
+    }
+
+    private static ReviewRowDTO row(Long idReview, LocalDateTime createdAt) {
+        return new ReviewRowDTO(idReview, 2L, "user2", null, ContentType.MOVIE, "MOV123", ApiSource.TMDB,
+                "Titulo", "Texto suficiente", 4.0, createdAt, createdAt, 0);
+    }
 }
@@ -0,0 +1,35 @@
+package dev.ivan.reviewverso_back.role;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RoleRepositoryIntegrationTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Las migraciones crean el esquema y cargan los roles base")
+    void migrations_seedBaseRoles() {
+        assertThat(roleRepository.findByName("ROLE_USER").isPresent(), is(true));
+        assertThat(roleRepository.findByName("ROLE_ADMIN").isPresent(), is(true));
+
+        List<String> applied = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" ORDER BY \"installed_rank\"", String.class);
+        assertThat(applied, hasItems("1", "2"));
+    }
+}
@@ -0,0 +1,45 @@
+package dev.ivan.reviewverso_back.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuthStageTimerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("bindTo registra un timer por etapa y record mide la tarea")
+    void record_updatesStageTimer() {
+        AuthStageTimer timer = AuthStageTimer.bindTo(registry);
+
+        String result = timer.record(AuthStageTimer.Stage.SIGN, () -> "token");
+
+        assertThat(result, is("token"));
+        assertThat(registry.get(AuthStageTimer.METRIC_NAME).tag("stage", "sign").timer().count(), is(1L));
+        assertThat(registry.get(AuthStageTimer.METRIC_NAME).tag("stage", "authenticate").timer().count(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Una etapa que falla también se mide y la excepción se propaga")
+    void record_measuresFailures() {
+        AuthStageTimer timer = AuthStageTimer.bindTo(registry);
+
+        assertThrows(IllegalStateException.class, () -> timer.record(AuthStageTimer.Stage.AUTHENTICATE, () -> {
+            throw new IllegalStateException("fallo");
+        }));
+
+        assertThat(registry.get(AuthStageTimer.METRIC_NAME).tag("stage", "authenticate").timer().count(), is(1L));
+    }
+
+    @Test
+    @DisplayName("noop ejecuta la tarea sin registrar métricas")
+    void noop_onlyRunsTask() {
+        assertThat(AuthStageTimer.noop().record(AuthStageTimer.Stage.HASH, () -> 42), is(42));
+        assertThat(registry.getMeters(), is(empty()));
+    }
+}
@@ -0,0 +1,190 @@
+package dev.ivan.reviewverso_back.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final Set<String> revokedIds = new HashSet<>();
+    private final OAuth2TokenValidator<Jwt> revocationCheck = jwt -> revokedIds.contains(jwt.getId())
+            ? OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Token revocado", null))
+            : OAuth2TokenValidatorResult.success();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-10T12:00:00Z"));
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, revocationCheck, clock);
+
+    @Test
+    @DisplayName("Un token ya verificado se sirve desde la caché sin volver a decodificarlo")
+    void decode_cachesVerifiedToken() {
+        Jwt jwt = jwt(clock.instant().plus(Duration.ofHours(1)));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token"), is(sameInstance(jwt)));
+        assertThat(decoder.decode("token"), is(sameInstance(jwt)));
+
+        verify(delegate, times(1)).decode("token");
+        assertThat(decoder.stats().hitCount(), is(1L));
+        assertThat(decoder.stats().missCount(), is(1L));
+    }
+
+    @Test
+    @DisplayName("La entrada caduca con el exp del token")
+    void decode_expiresWithToken() {
+        Jwt jwt = jwt(clock.instant().plus(Duration.ofMinutes(5)));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        decoder.decode("token");
+        clock.advance(Duration.ofMinutes(6));
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("Un token a punto de caducar se cachea solo hasta su exp, sin el margen de desfase del validador")
+    void decode_nearExpiryCapsAtExp() {
+        Jwt jwt = jwt(clock.instant().plus(Duration.ofSeconds(2)));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        decoder.decode("token");
+        clock.advance(Duration.ofSeconds(1));
+        decoder.decode("token");
+        verify(delegate, times(1)).decode("token");
+
+        // Pasado el exp, aunque siga dentro de los 60 s de tolerancia, la caché ya no lo sirve
+        clock.advance(Duration.ofSeconds(2));
+        decoder.decode("token");
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("Un token ya caducado que el delegado acepta por el desfase de reloj no se cachea")
+    void decode_doesNotCacheTokensInsideSkew() {
+        when(delegate.decode("token")).thenReturn(jwt(clock.instant().minus(Duration.ofSeconds(30))));
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(decoder.stats().hitCount(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Los tokens inválidos no se cachean")
+    void decode_doesNotCacheFailures() {
+        when(delegate.decode("malo")).thenThrow(new BadJwtException("firma inválida"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("malo"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("malo"));
+
+        verify(delegate, times(2)).decode("malo");
+    }
+
+    @Test
+    @DisplayName("invalidate obliga a verificar de nuevo el token")
+    void invalidate_forcesNewDecode() {
+        when(delegate.decode("token")).thenReturn(jwt(clock.instant().plus(Duration.ofHours(1))));
+
+        decoder.decode("token");
+        decoder.invalidate("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    @DisplayName("La revocación se comprueba también en los tokens servidos desde la caché")
+    void decode_appliesPerRequestValidatorOnHits() {
+        when(delegate.decode("token")).thenReturn(jwt(clock.instant().plus(Duration.ofHours(1))));
+        decoder.decode("token");
+
+        revokedIds.add("jti-1");
+
+        JwtValidationException ex = assertThrows(JwtValidationException.class, () -> decoder.decode("token"));
+        assertThat(ex.getMessage(), containsString("revocado"));
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    @DisplayName("bindTo publica las métricas de la caché en Micrometer")
+    void bindTo_registersCacheMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(delegate.decode("token")).thenReturn(jwt(clock.instant().plus(Duration.ofHours(1))));
+
+        decoder.bindTo(registry);
+        decoder.decode("token");
+        decoder.decode("token");
+
+        assertThat(registry.get("cache.gets").tag("cache", CachingJwtDecoder.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("La clave de la caché es un digest, no el token")
+    void digest_isSha256Hex() {
+        String digest = CachingJwtDecoder.digest("token");
+
+        assertThat(digest, hasLength(64));
+        assertThat(digest, not(containsString("token")));
+        assertThat(CachingJwtDecoder.digest("token"), is(digest));
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("usuario")
+                .jti("jti-1")
+                .issuedAt(expiresAt.minus(Duration.ofHours(1)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
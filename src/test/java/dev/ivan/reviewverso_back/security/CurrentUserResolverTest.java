@@ -0,0 +1,120 @@
+package dev.ivan.reviewverso_back.security;
+
+import dev.ivan.reviewverso_back.user.UserEntity;
+import dev.ivan.reviewverso_back.user.UserRepository;
+import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class CurrentUserResolverTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CurrentUserResolver resolver = new CurrentUserResolver(userRepository);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("El id sale del claim userId del JWT sin consultar la base de datos")
+    void getCurrentUserId_fromJwtClaim() {
+        authenticateWithJwt(7L);
+
+        assertThat(resolver.getCurrentUserId(), is(7L));
+        assertThat(resolver.getCurrentUserIdOrNull(), is(7L));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Una petición anónima no tiene usuario actual")
+    void getCurrentUserIdOrNull_anonymous() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertThat(resolver.getCurrentUserIdOrNull(), is(nullValue()));
+        assertThrows(UserNotFoundException.class, resolver::getCurrentUserId);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Sin claim userId se busca por nombre una sola vez y se reutiliza la entidad")
+    void getCurrentUserId_fallsBackToUserNameOnce() {
+        UserEntity user = UserEntity.builder().idUser(3L).userName("usuario").roles(Set.of()).build();
+        when(userRepository.findByUserName("usuario")).thenReturn(Optional.of(user));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("usuario", null, List.of()));
+
+        assertThat(resolver.getCurrentUserId(), is(3L));
+        assertThat(resolver.getCurrentUserReference(), is(sameInstance(user)));
+        assertThat(resolver.getCurrentUser(), is(sameInstance(user)));
+        verify(userRepository, times(1)).findByUserName("usuario");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("getCurrentUser carga la entidad una vez por petición")
+    void getCurrentUser_isMemoized() {
+        UserEntity user = UserEntity.builder().idUser(7L).userName("usuario").build();
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        authenticateWithJwt(7L);
+
+        resolver.getCurrentUser();
+        resolver.getCurrentUser();
+
+        verify(userRepository, times(1)).findById(7L);
+        verify(userRepository, never()).findByUserName(any());
+    }
+
+    @Test
+    @DisplayName("getCurrentUserReference comprueba una vez por petición que el usuario existe")
+    void getCurrentUserReference_checksExistenceOnce() {
+        UserEntity reference = UserEntity.builder().idUser(7L).build();
+        when(userRepository.existsById(7L)).thenReturn(true);
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+        authenticateWithJwt(7L);
+
+        assertThat(resolver.getCurrentUserReference(), is(sameInstance(reference)));
+        assertThat(resolver.getCurrentUserReference(), is(sameInstance(reference)));
+        verify(userRepository, times(1)).existsById(7L);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("getCurrentUserReference lanza UserNotFoundException si el usuario del token ya no existe")
+    void getCurrentUserReference_deletedUser() {
+        when(userRepository.existsById(7L)).thenReturn(false);
+        authenticateWithJwt(7L);
+
+        assertThrows(UserNotFoundException.class, resolver::getCurrentUserReference);
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
+    private void authenticateWithJwt(Long userId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("usuario")
+                .claim("userId", userId)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+    }
+}
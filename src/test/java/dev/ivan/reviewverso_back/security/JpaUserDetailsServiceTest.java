@@ -1,58 +1,118 @@
 package dev.ivan.reviewverso_back.security;
 
+import dev.ivan.reviewverso_back.config.CacheConfiguration;
 import dev.ivan.reviewverso_back.user.UserEntity;
 import dev.ivan.reviewverso_back.user.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class JpaUserDetailsServiceTest {
+
+    private final UserRepository repo = mock(UserRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.UNKNOWN_LOGIN_CACHE);
+    private final JpaUserDetailsService service = new JpaUserDetailsService(repo, cacheManager);
+
     @Test
     @DisplayName("loadUserByUsername busca por email y retorna UserDetails")
     void loadUserByUsername_email() {
         UserEntity user = UserEntity.builder().idUser(1L).userName("u").email("e@x.com").password("p").roles(Set.of()).build();
-        UserRepository repo = mock(UserRepository.class);
-        when(repo.findByEmail("e@x.com")).thenReturn(Optional.of(user));
-        JpaUserDetailsService service = new JpaUserDetailsService(repo);
+        when(repo.findLoginCandidates("e@x.com")).thenReturn(List.of(user));
         UserDetails details = service.loadUserByUsername("e@x.com");
         assertThat(details.getUsername(), is("u"));
         assertThat(details.getPassword(), is("p"));
     }
 
     @Test
-    @DisplayName("loadUserByUsername busca por userName si no encuentra email")
+    @DisplayName("loadUserByUsername busca por userName con la misma consulta")
     void loadUserByUsername_userName() {
         UserEntity user = UserEntity.builder().idUser(2L).userName("usuario").email("correo@x.com").password("clave").roles(Set.of()).build();
-        UserRepository repo = mock(UserRepository.class);
-        when(repo.findByEmail("usuario")).thenReturn(Optional.empty());
-        when(repo.findByUserName("usuario")).thenReturn(Optional.of(user));
-        JpaUserDetailsService service = new JpaUserDetailsService(repo);
+        when(repo.findLoginCandidates("usuario")).thenReturn(List.of(user));
         UserDetails details = service.loadUserByUsername("usuario");
         assertThat(details.getUsername(), is("usuario"));
         assertThat(details.getPassword(), is("clave"));
+        verify(repo, times(1)).findLoginCandidates("usuario");
+        verify(repo, never()).findByEmail(any());
+        verify(repo, never()).findByUserName(any());
+    }
+
+    @Test
+    @DisplayName("Si el identificador es email de uno y nombre de otro gana el email")
+    void loadUserByUsername_prefersEmailMatch() {
+        UserEntity byName = UserEntity.builder().idUser(3L).userName("a@x.com").email("otro@x.com").password("p1").roles(Set.of()).build();
+        UserEntity byEmail = UserEntity.builder().idUser(4L).userName("dueño").email("a@x.com").password("p2").roles(Set.of()).build();
+        when(repo.findLoginCandidates("a@x.com")).thenReturn(List.of(byName, byEmail));
+
+        assertThat(service.loadUserByUsername("a@x.com").getUsername(), is("dueño"));
     }
 
     @Test
     @DisplayName("lanza UsernameNotFoundException si no existe usuario")
     void loadUserByUsername_notFound() {
-        UserRepository repo = mock(UserRepository.class);
-        when(repo.findByEmail("nope")).thenReturn(Optional.empty());
-        when(repo.findByUserName("nope")).thenReturn(Optional.empty());
-        JpaUserDetailsService service = new JpaUserDetailsService(repo);
-        try {
-            service.loadUserByUsername("nope");
-        } catch (UsernameNotFoundException ex) {
-            assertThat(ex.getMessage(), containsString("nope"));
-            return;
-        }
-        throw new AssertionError("Se esperaba UsernameNotFoundException");
+        when(repo.findLoginCandidates("nope")).thenReturn(List.of());
+        UsernameNotFoundException ex = assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nope"));
+        assertThat(ex.getMessage(), containsString("nope"));
+    }
+
+    @Test
+    @DisplayName("Los identificadores desconocidos no vuelven a consultar la base de datos")
+    void loadUserByUsername_negativeCache() {
+        when(repo.findLoginCandidates(anyString())).thenReturn(List.of());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nope"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nope"));
+
+        verify(repo, times(1)).findLoginCandidates("nope");
+        assertThat(cacheManager.getCache(CacheConfiguration.UNKNOWN_LOGIN_CACHE)
+                .get(JpaUserDetailsService.unknownKey("nope")), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Un fallo con otra combinación de mayúsculas no bloquea al usuario real")
+    void loadUserByUsername_negativeCacheIsCaseSensitive() {
+        UserEntity alice = UserEntity.builder().idUser(5L).userName("alice").email("alice@x.com").password("p").roles(Set.of()).build();
+        when(repo.findLoginCandidates("Alice")).thenReturn(List.of());
+        when(repo.findLoginCandidates("alice")).thenReturn(List.of(alice));
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("Alice"));
+
+        assertThat(service.loadUserByUsername("alice").getUsername(), is("alice"));
+    }
+
+    @Test
+    @DisplayName("UnknownLoginCacheInvalidator saca de la caché negativa los identificadores nuevos")
+    void invalidator_evictsChangedIdentifiers() {
+        when(repo.findLoginCandidates(anyString())).thenReturn(List.of());
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nuevo"));
+
+        new UnknownLoginCacheInvalidator(cacheManager)
+                .onLoginIdentifiersChanged(LoginIdentifiersChangedEvent.of("nuevo", null));
+
+        assertThat(cacheManager.getCache(CacheConfiguration.UNKNOWN_LOGIN_CACHE)
+                .get(JpaUserDetailsService.unknownKey("nuevo")), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("updatePassword guarda el hash rehecho del usuario")
+    void updatePassword_savesNewHash() {
+        UserEntity user = UserEntity.builder().idUser(2L).userName("usuario").password("$2a$10$viejo").roles(Set.of()).build();
+        when(repo.findByUserName("usuario")).thenReturn(Optional.of(user));
+        when(repo.save(user)).thenReturn(user);
+
+        UserDetails details = service.updatePassword(new SecurityUser(user), "$2a$12$nuevo");
+
+        assertThat(details.getPassword(), is("$2a$12$nuevo"));
+        verify(repo).save(user);
     }
 }
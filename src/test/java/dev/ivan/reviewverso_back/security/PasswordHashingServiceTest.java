@@ -0,0 +1,98 @@
+package dev.ivan.reviewverso_back.security;
+
+import dev.ivan.reviewverso_back.security.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordHashingService service = new PasswordHashingService(5, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("encode y matches funcionan con el coste configurado")
+    void encodeAndMatches() {
+        String hash = service.encode("secreta");
+
+        assertThat(hash, startsWith("$2a$05$"));
+        assertThat(service.matches("secreta", hash), is(true));
+        assertThat(service.matches("otra", hash), is(false));
+    }
+
+    @Test
+    @DisplayName("El hashing corre en el pool propio y las llamadas anidadas no se bloquean")
+    void submit_runsNestedHashingInline() {
+        String result = service.submit(() -> Thread.currentThread().getName() + "|" + service.encode("secreta"))
+                .join();
+
+        assertThat(result, startsWith("password-hash-1|$2a$05$"));
+    }
+
+    @Test
+    @DisplayName("Con el pool y la cola llenos se rechaza el trabajo")
+    void submit_rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.submit(() -> {
+            running.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS), is(true));
+        service.submit(() -> null);
+
+        assertThrows(PasswordHashingBusyException.class, () -> service.submit(() -> null));
+        assertThrows(PasswordHashingBusyException.class, () -> service.encode("secreta"));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Con timedBy cada encode y matches se registra como etapa hash")
+    void timedBy_recordsHashStage() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.timedBy(AuthStageTimer.bindTo(registry));
+
+        service.matches("secreta", service.encode("secreta"));
+
+        assertThat(registry.get(AuthStageTimer.METRIC_NAME).tag("stage", "hash").timer().count(), is(2L));
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding pide rehacer los hashes con menor coste")
+    void upgradeEncoding_detectsWeakerHashes() {
+        String weaker = new BCryptPasswordEncoder(4).encode("secreta");
+        String same = service.encode("secreta");
+
+        assertThat(service.upgradeEncoding(weaker), is(true));
+        assertThat(service.upgradeEncoding(same), is(false));
+    }
+
+    @Test
+    @DisplayName("La calibración respeta los límites de coste")
+    void calibrate_staysWithinBounds() {
+        assertThat(PasswordHashingService.calibrate(0, 4, 6), is(4));
+        assertThat(PasswordHashingService.calibrate(60_000, 4, 6), is(6));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.ivan.reviewverso_back.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScopeAuthoritiesConverterTest {
+
+    private final ScopeAuthoritiesConverter converter = new ScopeAuthoritiesConverter();
+
+    @Test
+    @DisplayName("Convierte cada rol del scope en una authority")
+    void convert_mapsEveryRole() {
+        Collection<GrantedAuthority> authorities = converter.convert(jwt("ROLE_USER ROLE_ADMIN"));
+
+        assertThat(authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+                contains("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Test
+    @DisplayName("El mismo scope devuelve la misma lista inmutable")
+    void convert_reusesAuthoritiesForSameScope() {
+        Collection<GrantedAuthority> first = converter.convert(jwt("ROLE_USER"));
+        Collection<GrantedAuthority> second = converter.convert(jwt("ROLE_USER"));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThrows(UnsupportedOperationException.class, () -> first.clear());
+    }
+
+    @Test
+    @DisplayName("Sin scope no hay authorities")
+    void convert_withoutScope() {
+        Jwt withoutScope = Jwt.withTokenValue("token").header("alg", "HS512").subject("usuario").build();
+
+        assertThat(converter.convert(withoutScope), is(empty()));
+        assertThat(converter.convert(jwt(" ")), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Por encima del tope de scopes se sigue convirtiendo sin cachear")
+    void convert_beyondCacheLimit() {
+        for (int i = 0; i < ScopeAuthoritiesConverter.MAX_CACHED_SCOPES; i++) {
+            converter.convert(jwt("ROLE_" + i));
+        }
+
+        Collection<GrantedAuthority> first = converter.convert(jwt("ROLE_EXTRA"));
+        Collection<GrantedAuthority> second = converter.convert(jwt("ROLE_EXTRA"));
+
+        assertThat(second, is(equalTo(first)));
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    private static Jwt jwt(String scope) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("usuario")
+                .claim("scope", scope)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import dev.ivan.reviewverso_back.user.dtos.UserRequestDTO;
 import dev.ivan.reviewverso_back.user.dtos.UserResponseDTO;
 import dev.ivan.reviewverso_back.user.exceptions.UserAccessDeniedException;
 import dev.ivan.reviewverso_back.implementations.IUserService;
+import dev.ivan.reviewverso_back.security.CurrentUserResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,7 +17,6 @@ import org.springframework.security.core.GrantedAuthority;
 
 import java.security.Principal;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -28,7 +28,7 @@ class UserControllerTest {
     @Mock
     private IUserService<UserResponseDTO, UserRequestDTO> userService;
     @Mock
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
     @InjectMocks
     private UserController userController;
 
@@ -48,6 +48,7 @@ class UserControllerTest {
             authorities.add((GrantedAuthority) () -> "ROLE_USER");
         }
     when(auth.getAuthorities()).thenAnswer(invocation -> authorities);
+        when(currentUserResolver.getCurrentUserId()).thenReturn(userId);
         return auth;
     }
 
@@ -64,13 +65,6 @@ class UserControllerTest {
     @Test
     @DisplayName("getUserById permite admin o self, deniega otros")
     void getUserById_accessControl() {
-        UserEntity user = UserEntity.builder().idUser(1L).userName("u").build();
-        UserEntity admin = UserEntity.builder().idUser(99L).userName("admin").build();
-        UserEntity other = UserEntity.builder().idUser(2L).userName("other").build();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("u")).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findByUserName("other")).thenReturn(Optional.of(other));
         when(userService.getByID(1L)).thenReturn(mock(UserResponseDTO.class));
       
         Authentication adminAuth = mockAuth(99L, "admin", true);
@@ -93,13 +87,6 @@ class UserControllerTest {
     @Test
     @DisplayName("updateUser permite admin o self, deniega otros")
     void updateUser_accessControl() {
-        UserEntity user = UserEntity.builder().idUser(1L).userName("u").build();
-        UserEntity admin = UserEntity.builder().idUser(99L).userName("admin").build();
-        UserEntity other = UserEntity.builder().idUser(2L).userName("other").build();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("u")).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findByUserName("other")).thenReturn(Optional.of(other));
         when(userService.updateEntity(eq(1L), any(), any())).thenReturn(mock(UserResponseDTO.class));
         UserRequestDTO dto = mock(UserRequestDTO.class);
         // Admin puede actualizar cualquier usuario
@@ -124,13 +111,6 @@ class UserControllerTest {
     @Test
     @DisplayName("deleteUser permite admin o self, deniega otros")
     void deleteUser_accessControl() {
-        UserEntity user = UserEntity.builder().idUser(1L).userName("u").build();
-        UserEntity admin = UserEntity.builder().idUser(99L).userName("admin").build();
-        UserEntity other = UserEntity.builder().idUser(2L).userName("other").build();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("u")).thenReturn(Optional.of(user));
-        when(userRepository.findByUserName("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findByUserName("other")).thenReturn(Optional.of(other));
         // Admin puede borrar cualquier usuario
         Authentication adminAuth = mockAuth(99L, "admin", true);
         ResponseEntity<Void> adminResp = userController.deleteUser(1L, adminAuth);
@@ -153,9 +133,6 @@ class UserControllerTest {
     @Test
     @DisplayName("getCurrentUser retorna el usuario actual")
     void getCurrentUser_works() {
-    UserEntity user = UserEntity.builder().idUser(1L).userName("u").build();
-    when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-    when(userRepository.findByUserName("u")).thenReturn(Optional.of(user));
     when(userService.getByID(1L)).thenReturn(mock(UserResponseDTO.class));
     Authentication auth = mockAuth(1L, "u", false);
     ResponseEntity<UserResponseDTO> resp = userController.getCurrentUser(auth);
@@ -3,11 +3,13 @@ package dev.ivan.reviewverso_back.user;
 import dev.ivan.reviewverso_back.profile.ProfileEntity;
 import dev.ivan.reviewverso_back.role.RoleEntity;
 import dev.ivan.reviewverso_back.role.RoleRepository;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.HashSet;
@@ -27,6 +29,9 @@ class UserRepositoryIntegrationTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private RoleEntity userRole;
 
     @BeforeEach
@@ -106,6 +111,32 @@ class UserRepositoryIntegrationTest {
         assertThat(notFound.isEmpty(), is(true));
     }
 
+    @Test
+    @DisplayName("findLoginCandidates encuentra por email o userName y trae los roles en la misma consulta")
+    void findLoginCandidates() {
+        // Given
+        userRepository.saveAndFlush(UserEntity.builder()
+                .userName("loginuser")
+                .email("login@example.com")
+                .password("pass123")
+                .roles(new HashSet<>(Set.of(userRole)))
+                .build());
+        entityManager.clear();
+
+        // When
+        var byName = userRepository.findLoginCandidates("loginuser");
+        var byEmail = userRepository.findLoginCandidates("login@example.com");
+        var none = userRepository.findLoginCandidates("nadie");
+
+        // Then
+        assertThat(byName, hasSize(1));
+        assertThat(Hibernate.isInitialized(byName.get(0).getRoles()), is(true));
+        assertThat(byName.get(0).getRoles(), hasSize(1));
+        assertThat(byEmail, hasSize(1));
+        assertThat(byEmail.get(0).getUserName(), is("loginuser"));
+        assertThat(none, is(empty()));
+    }
+
     @Test
     @DisplayName("Guardar usuario con perfil y profileImage")
     void saveUserWithProfile() {
@@ -9,12 +9,17 @@ import dev.ivan.reviewverso_back.user.exceptions.UserNotFoundException;
 import dev.ivan.reviewverso_back.role.RoleRepository;
 import dev.ivan.reviewverso_back.role.RoleEntity;
 import dev.ivan.reviewverso_back.file.FileStorageService;
+import dev.ivan.reviewverso_back.reviews.ReviewRepository;
+import dev.ivan.reviewverso_back.reviews.dtos.ReviewRatingDTO;
+import dev.ivan.reviewverso_back.reviews.enums.ContentType;
+import dev.ivan.reviewverso_back.reviews.service.ContentStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,6 +35,12 @@ class UserServiceImplTest {
     private RoleRepository roleRepository;
     @Mock
     private FileStorageService fileStorageService;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private ContentStatsService contentStatsService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -107,6 +118,22 @@ class UserServiceImplTest {
         throw new AssertionError("Se esperaba UserNotFoundException");
     }
 
+    @Test
+    @DisplayName("deleteEntity descuenta de content_stats las reseñas del usuario antes de borrarlo")
+    void deleteEntity_removesReviewsFromContentStats() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.findRatingsByUserId(1L)).thenReturn(List.of(
+                new ReviewRatingDTO(ContentType.MOVIE, "MOV1", 4.0),
+                new ReviewRatingDTO(ContentType.BOOK, "BOOK1", 2.5)));
+
+        userService.deleteEntity(1L);
+
+        var inOrder = inOrder(contentStatsService, userRepository);
+        inOrder.verify(contentStatsService).reviewRemoved(ContentType.MOVIE, "MOV1", 4.0);
+        inOrder.verify(contentStatsService).reviewRemoved(ContentType.BOOK, "BOOK1", 2.5);
+        inOrder.verify(userRepository).deleteById(1L);
+    }
+
     @Test
     @DisplayName("findByEmail y findByUserName retornan Optional")
     void findByEmailAndUserName() {